@@ -0,0 +1,71 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import lombok.experimental.UtilityClass;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+/**
+ * Data shared by benchmarks. Every author has {@link #BOOKS_PER_AUTHOR} books.
+ */
+@UtilityClass
+public class Fixtures {
+
+  public static final int BOOKS_PER_AUTHOR = 10;
+
+  public Author author(int number) {
+    Author author = new Author();
+    author.setName("Author " + number);
+    author.setBirthday(LocalDate.of(1950, 1, 1).plusDays(number % 10_000));
+    return author;
+  }
+
+  public Book book(int number, Author author) {
+    Book book = new Book();
+    book.setTitle("Title " + number);
+    book.setDescription("Description of book number " + number);
+    book.setReleaseDate(LocalDate.of(2000, 1, 1).plusDays(number % 8_000));
+    book.setAuthor(author);
+    return book;
+  }
+
+  public AuthorRepository authors(int size) {
+    AuthorRepository authorRepository = new AuthorRepository(new RepositoryProperties());
+    for (int number = 0; number < size; number++) {
+      authorRepository.save(author(number));
+    }
+    return authorRepository;
+  }
+
+  /**
+   * @return repository with {@code size} books of authors from {@code authorRepository}
+   */
+  public BookRepository books(AuthorRepository authorRepository, int size) {
+    BookRepository bookRepository = new BookRepository(new RepositoryProperties(), authorRepository);
+    Author[] authors = authorRepository.findAll().toArray(Author[]::new);
+    for (int number = 0; number < size; number++) {
+      bookRepository.save(book(number, authors[number / BOOKS_PER_AUTHOR % authors.length]));
+    }
+    return bookRepository;
+  }
+
+  public int authorsFor(int books) {
+    return Math.max(1, books / BOOKS_PER_AUTHOR);
+  }
+
+  /**
+   * Mapper configured the same way as the one of the application.
+   */
+  public ObjectMapper objectMapper() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+  }
+}
@@ -0,0 +1,58 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.id.IdGenerationType;
+import com.inventorsoft.junit.repository.id.IdGenerator;
+import com.inventorsoft.junit.repository.id.IdGenerators;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id allocation of every generator, single threaded and contended.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdGeneratorBenchmark {
+
+  @Param({"SEQUENCE", "HI_LO", "SNOWFLAKE"})
+  IdGenerationType type;
+
+  IdGenerator idGenerator;
+
+  @Setup
+  public void setUp() {
+    RepositoryProperties.IdGeneration settings = new RepositoryProperties.IdGeneration();
+    settings.setType(type);
+    idGenerator = IdGenerators.create(settings);
+  }
+
+  @Benchmark
+  public long nextId() {
+    return idGenerator.nextId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long nextIdContended() {
+    return idGenerator.nextId();
+  }
+}
@@ -0,0 +1,99 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.store.StorageType;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of {@link BookRepository#save} into heap and sharded storage, by one thread and by a thread per
+ * core, for several counts of partitions of sharded storage. Heap storage has no partitions, its rows repeat for
+ * every count. Every thread inserts books of its own author, the scaling of other thread counts is measured with
+ * {@code -t}:
+ * <pre>
+ * mvn -P benchmark verify -DskipTests -Djmh.args="IngestBenchmark.insert -t 4 -p storage=SHARDED"
+ * </pre>
+ * Results of a run are kept in {@code src/jmh/results/IngestBenchmark.md}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IngestBenchmark {
+
+  @Param({"HEAP", "SHARDED"})
+  StorageType storage;
+
+  @Param({"1", "4", "16"})
+  int partitions;
+
+  AuthorRepository authorRepository;
+  BookRepository bookRepository;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    RepositoryProperties properties = new RepositoryProperties();
+    properties.getBookStorage().setType(storage);
+    properties.getBookStorage().setPartitions(partitions);
+
+    authorRepository = Fixtures.authors(Runtime.getRuntime().availableProcessors());
+    bookRepository = new BookRepository(properties, authorRepository);
+  }
+
+  @Benchmark
+  public Book insert(Writer writer) {
+    return bookRepository.save(writer.nextBook());
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Book insertAllCores(Writer writer) {
+    return bookRepository.save(writer.nextBook());
+  }
+
+  @State(Scope.Thread)
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class Writer {
+
+    int thread;
+    Author author;
+    int nextNumber;
+
+    @Setup(Level.Iteration)
+    public void setUp(IngestBenchmark benchmark, ThreadParams threadParams) {
+      thread = threadParams.getThreadIndex();
+      author = benchmark.authorRepository.findById((long) thread % benchmark.authorRepository.count())
+          .orElseThrow();
+      nextNumber = 0;
+    }
+
+    Book nextBook() {
+      Book book = Fixtures.book(nextNumber++, author);
+      book.setTitle("Title " + thread + "-" + nextNumber);
+      return book;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorsoft.junit.mapper.AuthorMapper;
+import com.inventorsoft.junit.mapper.BookMapper;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.BookService;
+import com.inventorsoft.junit.service.cache.BookJsonCache;
+import com.inventorsoft.junit.service.cache.ResponseCacheProperties;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import com.inventorsoft.junit.service.pipeline.AuthorLocks;
+import com.inventorsoft.junit.service.pipeline.WritePipeline;
+import com.inventorsoft.junit.service.pipeline.WritePipelineProperties;
+import com.inventorsoft.junit.util.validation.BookBatchValidator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Everything a controller does to produce the body of {@code GET /books/{id}} and {@code GET /books}: lookup,
+ * mapping and JSON rendering, once with Jackson on every call and once through the fragment cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JsonSerializationBenchmark {
+
+  @Param({"1000", "10000"})
+  int size;
+
+  ObjectMapper objectMapper;
+  BookService bookService;
+  long lookupId;
+
+  @Setup
+  public void setUp() {
+    AuthorRepository authorRepository = Fixtures.authors(Fixtures.authorsFor(size));
+    BookRepository bookRepository = Fixtures.books(authorRepository, size);
+    AuthorLoader authorLoader = new AuthorLoader(authorRepository);
+    BookMapper bookMapper = new BookMapper(authorLoader, new AuthorMapper());
+
+    objectMapper = Fixtures.objectMapper();
+    bookService = new BookService(bookRepository, authorLoader, bookMapper,
+        new BookBatchValidator(bookRepository),
+        new BookJsonCache(new ResponseCacheProperties(), objectMapper, authorRepository),
+        new WritePipeline(new WritePipelineProperties()), new AuthorLocks());
+  }
+
+  @Benchmark
+  public byte[] getByIdJackson() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(bookService.getById(nextLookup()));
+  }
+
+  @Benchmark
+  public byte[] getByIdCached() {
+    return bookService.getJsonById(nextLookup());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public byte[] getAllJackson() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(bookService.getAll());
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public byte[] getAllCached() {
+    return bookService.getAllJson();
+  }
+
+  private long nextLookup() {
+    lookupId = (lookupId + 7919) % size;
+    return lookupId;
+  }
+}
@@ -0,0 +1,55 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.mapper.AuthorMapper;
+import com.inventorsoft.junit.mapper.BookMapper;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the whole catalog the way {@code GET /books} did before responses were cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MappingBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  int size;
+
+  BookRepository bookRepository;
+  BookMapper bookMapper;
+
+  @Setup
+  public void setUp() {
+    AuthorRepository authorRepository = Fixtures.authors(Fixtures.authorsFor(size));
+    bookRepository = Fixtures.books(authorRepository, size);
+    bookMapper = new BookMapper(new AuthorLoader(authorRepository), new AuthorMapper());
+  }
+
+  @Benchmark
+  public List<BookResponse> findAllAndMap() {
+    return bookMapper.mapEntitiesToResponses(bookRepository.findAll());
+  }
+}
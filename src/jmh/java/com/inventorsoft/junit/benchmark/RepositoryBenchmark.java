@@ -0,0 +1,83 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository operations on repositories of growing size. {@link #save()} adds a new book on every call, so
+ * repositories are filled again before every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RepositoryBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  int size;
+
+  AuthorRepository authorRepository;
+  BookRepository bookRepository;
+  Author author;
+  int nextNumber;
+  int lookupNumber;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    authorRepository = Fixtures.authors(Fixtures.authorsFor(size));
+    bookRepository = Fixtures.books(authorRepository, size);
+    author = authorRepository.findAll().get(0);
+    nextNumber = size;
+  }
+
+  @Benchmark
+  public Book save() {
+    return bookRepository.save(Fixtures.book(nextNumber++, author));
+  }
+
+  @Benchmark
+  public boolean existsByTitle() {
+    return bookRepository.existsByTitle("Title " + nextLookup());
+  }
+
+  @Benchmark
+  public boolean existsByTitleMissing() {
+    return bookRepository.existsByTitle("Missing " + nextLookup());
+  }
+
+  @Benchmark
+  public boolean existsByName() {
+    return authorRepository.existsByName("Author " + nextLookup() % Fixtures.authorsFor(size));
+  }
+
+  @Benchmark
+  public Book findById() {
+    return bookRepository.findById((long) nextLookup()).orElseThrow();
+  }
+
+  private int nextLookup() {
+    lookupNumber = (lookupNumber + 7919) % size;
+    return lookupNumber;
+  }
+}
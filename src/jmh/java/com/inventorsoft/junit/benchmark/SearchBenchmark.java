@@ -0,0 +1,57 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.Slice;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-text search. Every fixture book has words "title", "description", "book" and "number", and a number
+ * which is shared by a title and a description of two books, so {@link #searchSelective()} probes a large posting
+ * list with two candidates and {@link #searchCommon()} ranks the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SearchBenchmark {
+
+  @Param({"100000", "1000000"})
+  int size;
+
+  BookRepository bookRepository;
+  int lookupNumber;
+
+  @Setup
+  public void setUp() {
+    bookRepository = Fixtures.books(Fixtures.authors(Fixtures.authorsFor(size)), size);
+  }
+
+  @Benchmark
+  public Slice<Book> searchSelective() {
+    lookupNumber = (lookupNumber + 7919) % size;
+    return bookRepository.search("title " + lookupNumber, 0, 20);
+  }
+
+  @Benchmark
+  public Slice<Book> searchCommon() {
+    return bookRepository.search("book number", 0, 20);
+  }
+}
@@ -0,0 +1,73 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import com.inventorsoft.junit.util.validation.BookValidatorConstraint;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookValidatorConstraint#isValid} for a request which passes every check and for one rejected by the
+ * title uniqueness check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ValidationBenchmark {
+
+  @Param({"1000", "100000"})
+  int size;
+
+  BookValidatorConstraint validator;
+  CreateBookRequest validRequest;
+  CreateBookRequest takenTitleRequest;
+
+  @Setup
+  public void setUp() {
+    AuthorRepository authorRepository = Fixtures.authors(Fixtures.authorsFor(size));
+    BookRepository bookRepository = Fixtures.books(authorRepository, size);
+    validator = new BookValidatorConstraint(bookRepository, new AuthorLoader(authorRepository));
+
+    validRequest = request("New title");
+    takenTitleRequest = request("Title " + size / 2);
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return validator.isValid(validRequest, null);
+  }
+
+  @Benchmark
+  public boolean isValidTakenTitle() {
+    return validator.isValid(takenTitleRequest, null);
+  }
+
+  private static CreateBookRequest request(String title) {
+    CreateBookRequest request = new CreateBookRequest();
+    request.setTitle(title);
+    request.setDescription("Description");
+    request.setReleaseDate(LocalDate.of(2010, 5, 1));
+    request.setAuthorId(0L);
+    return request;
+  }
+}
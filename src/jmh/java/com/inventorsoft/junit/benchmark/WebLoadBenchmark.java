@@ -0,0 +1,173 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.JunitApplication;
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.service.AuthorService;
+import com.inventorsoft.junit.service.BookService;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests per second of the whole application under {@value #CLIENTS} concurrent clients, served by the Tomcat
+ * worker pool or by virtual threads. Reads are served from memory, writes wait until the write-ahead log is
+ * forced, which is where a bounded pool of platform threads runs out first. Peak thread count and used heap of
+ * every iteration are printed, run with {@code -prof gc} for allocation rates.
+ * <p>
+ * Virtual threads need JDK 21, where the build needs the {@code java21} profile as well. Every client
+ * holds its own connection, so the limit of open files must be above twice the number of clients:
+ * <pre>
+ * ulimit -n 65536
+ * mvn -P benchmark,java21 verify -DskipTests -Djmh.args="WebLoadBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WebLoadBenchmark {
+
+  static final int CLIENTS = 10_000;
+  static final int BOOKS = 1000;
+
+  @Param({"false", "true"})
+  boolean virtualThreads;
+
+  @Param({"read", "write"})
+  String workload;
+
+  ConfigurableApplicationContext context;
+  HttpClient client;
+  String baseUrl;
+  long authorId;
+  AtomicLong sequence = new AtomicLong();
+  AtomicLong failures = new AtomicLong();
+
+  @Setup
+  public void setUp() throws IOException {
+    if (virtualThreads && Runtime.version().feature() < 21) {
+      throw new IllegalStateException("Virtual threads need JDK 21");
+    }
+
+    Path dataDirectory = Files.createTempDirectory("web-load");
+    // command line arguments, default properties would be overridden by application.properties
+    context = new SpringApplicationBuilder(JunitApplication.class)
+        .run(
+            "--server.port=0",
+            "--web.virtual-threads=" + virtualThreads,
+            "--server.tomcat.max-connections=" + 2 * CLIENTS,
+            "--server.tomcat.accept-count=" + CLIENTS,
+            "--repository.persistence.enabled=" + workload.equals("write"),
+            "--repository.persistence.directory=" + dataDirectory,
+            "--repository.persistence.fsync-policy=always",
+            "--logging.level.root=warn");
+    baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+    CreateAuthorRequest author = new CreateAuthorRequest();
+    author.setName("Load Author");
+    author.setBirthday(LocalDate.of(1970, 1, 1));
+    authorId = context.getBean(AuthorService.class).create(author);
+
+    BookService bookService = context.getBean(BookService.class);
+    for (int i = 0; i < BOOKS; i++) {
+      bookService.create(bookRequest("seed " + i));
+    }
+
+    client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofMinutes(1))
+        .build();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetPeaks() {
+    ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    failures.set(0);
+  }
+
+  @TearDown(Level.Iteration)
+  public void printPeaks() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    System.out.printf("peak threads: %d, heap used: %d MB, failed requests: %d%n", threads.getPeakThreadCount(),
+        memory.getHeapMemoryUsage().getUsed() >> 20, failures.get());
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CLIENTS)
+  public void requests() {
+    CompletableFuture<?>[] responses = new CompletableFuture<?>[CLIENTS];
+    for (int i = 0; i < CLIENTS; i++) {
+      responses[i] = client.sendAsync(nextRequest(), HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, error) -> {
+            if (Objects.nonNull(error) || response.statusCode() >= 300) {
+              failures.incrementAndGet();
+            }
+          });
+    }
+    CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+  }
+
+  private HttpRequest nextRequest() {
+    long number = sequence.incrementAndGet();
+    if (workload.equals("read")) {
+      return HttpRequest.newBuilder(URI.create(baseUrl + "/books/" + number % BOOKS)).GET().build();
+    }
+
+    String body = "{\"title\":\"load " + number + "\",\"description\":\"load " + number
+        + "\",\"releaseDate\":\"2000-01-01\",\"authorId\":" + authorId + "}";
+    return HttpRequest.newBuilder(URI.create(baseUrl + "/books"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private CreateBookRequest bookRequest(String title) {
+    CreateBookRequest request = new CreateBookRequest();
+    request.setTitle(title);
+    request.setDescription(title);
+    request.setReleaseDate(LocalDate.of(2000, 1, 1));
+    request.setAuthorId(authorId);
+    return request;
+  }
+}
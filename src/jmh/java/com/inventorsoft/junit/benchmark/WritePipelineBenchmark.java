@@ -0,0 +1,109 @@
+package com.inventorsoft.junit.benchmark;
+
+import com.inventorsoft.junit.JunitApplication;
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.service.AuthorService;
+import com.inventorsoft.junit.service.BookService;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained throughput of {@link BookService#create} by concurrent callers, applied by callers themselves or by the
+ * single writer of the write pipeline, with persistence enabled. With {@code always} fsync policy every caller
+ * waits for the disk, the pipeline waits once per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WritePipelineBenchmark {
+
+  @Param({"false", "true"})
+  boolean pipeline;
+
+  @Param({"batch", "always"})
+  String fsyncPolicy;
+
+  ConfigurableApplicationContext context;
+  BookService bookService;
+  long authorId;
+
+  @Setup
+  public void setUp() throws IOException {
+    Path dataDirectory = Files.createTempDirectory("write-pipeline");
+    context = new SpringApplicationBuilder(JunitApplication.class)
+        .run(
+            "--spring.main.web-application-type=none",
+            "--write-pipeline.enabled=" + pipeline,
+            "--repository.persistence.enabled=true",
+            "--repository.persistence.directory=" + dataDirectory,
+            "--repository.persistence.fsync-policy=" + fsyncPolicy,
+            "--logging.level.root=warn");
+    bookService = context.getBean(BookService.class);
+
+    CreateAuthorRequest author = new CreateAuthorRequest();
+    author.setName("Pipeline Author");
+    author.setBirthday(LocalDate.of(1970, 1, 1));
+    authorId = context.getBean(AuthorService.class).create(author);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Long create(Writer writer) {
+    return bookService.create(writer.nextRequest(authorId));
+  }
+
+  @State(Scope.Thread)
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class Writer {
+
+    int thread;
+    long nextNumber;
+
+    @Setup
+    public void setUp(ThreadParams threadParams) {
+      thread = threadParams.getThreadIndex();
+    }
+
+    CreateBookRequest nextRequest(long authorId) {
+      String title = "Pipeline " + thread + "-" + nextNumber++;
+      CreateBookRequest request = new CreateBookRequest();
+      request.setTitle(title);
+      request.setDescription(title);
+      request.setReleaseDate(LocalDate.of(2000, 1, 1));
+      request.setAuthorId(authorId);
+      return request;
+    }
+  }
+}
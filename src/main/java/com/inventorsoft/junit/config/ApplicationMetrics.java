@@ -0,0 +1,62 @@
+package com.inventorsoft.junit.config;
+
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.Repository;
+import com.inventorsoft.junit.service.cache.AuthorJsonCache;
+import com.inventorsoft.junit.service.cache.BookJsonCache;
+import com.inventorsoft.junit.service.cache.JsonFragmentCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes of repositories and statistics of response caches. Values are read when the registry is scraped.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+
+  AuthorRepository authorRepository;
+  BookRepository bookRepository;
+  AuthorJsonCache authorJsonCache;
+  BookJsonCache bookJsonCache;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    bindRepository(registry, "authors", authorRepository);
+    bindRepository(registry, "books", bookRepository);
+    bindCache(registry, "authors", authorJsonCache);
+    bindCache(registry, "books", bookJsonCache);
+  }
+
+  private static void bindRepository(MeterRegistry registry, String name, Repository<?, ?> repository) {
+    Gauge.builder("repository.size", repository, Repository::count)
+        .description("Amount of entities in repository")
+        .tag("repository", name)
+        .register(registry);
+  }
+
+  private static void bindCache(MeterRegistry registry, String name, JsonFragmentCache<?> cache) {
+    Gauge.builder("response.cache.size", cache, JsonFragmentCache::estimatedSize)
+        .tag("cache", name)
+        .register(registry);
+    FunctionCounter.builder("response.cache.requests", cache, JsonFragmentCache::hitCount)
+        .tag("cache", name)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("response.cache.requests", cache, JsonFragmentCache::missCount)
+        .tag("cache", name)
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("response.cache.evictions", cache, JsonFragmentCache::evictionCount)
+        .tag("cache", name)
+        .register(registry);
+  }
+}
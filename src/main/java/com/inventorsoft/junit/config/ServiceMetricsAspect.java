@@ -0,0 +1,71 @@
+package com.inventorsoft.junit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of {@link org.springframework.stereotype.Service} beans in {@value #METRIC} timer,
+ * tagged by class, method and thrown exception. Histogram buckets are published, so percentiles can be computed
+ * by Prometheus across instances. Methods returning lazy streams are timed until the stream is returned. Timers
+ * are built once per tags and kept, a call only looks its timer up.
+ */
+@Aspect
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+  static final String METRIC = "service.calls";
+  static final String NO_EXCEPTION = "none";
+
+  MeterRegistry meterRegistry;
+  Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+  @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = NO_EXCEPTION;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      Signature signature = joinPoint.getSignature();
+      sample.stop(timers.computeIfAbsent(new TimerKey(signature.getDeclaringType(), signature.getName(), exception),
+          this::register));
+    }
+  }
+
+  private Timer register(TimerKey key) {
+    return Timer.builder(METRIC)
+        .tag("class", key.type.getSimpleName())
+        .tag("method", key.method)
+        .tag("exception", key.exception)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  @EqualsAndHashCode
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class TimerKey {
+
+    Class<?> type;
+    String method;
+    String exception;
+  }
+}
@@ -0,0 +1,48 @@
+package com.inventorsoft.junit.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every request on its own virtual thread instead of the bounded Tomcat worker pool, so requests blocked on
+ * I/O, like waiting for the write-ahead log to be forced, don't hold platform threads.
+ * <p>
+ * Classes are compiled for Java 17, which is the newest class file version the ASM of Spring 5.3 reads while
+ * scanning components, so the executor of Java 21 is looked up at runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "web.virtual-threads", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadExecutorCustomizer() {
+    MethodHandle executorFactory = virtualThreadExecutorFactory();
+    return protocolHandler -> protocolHandler.setExecutor(newExecutor(executorFactory));
+  }
+
+  private static MethodHandle virtualThreadExecutorFactory() {
+    try {
+      return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+          MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version(), e);
+    }
+  }
+
+  private static ExecutorService newExecutor(MethodHandle executorFactory) {
+    try {
+      return (ExecutorService) executorFactory.invokeExact();
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to create virtual thread executor", e);
+    }
+  }
+}
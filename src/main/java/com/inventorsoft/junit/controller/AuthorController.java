@@ -2,41 +2,84 @@ package com.inventorsoft.junit.controller;
 
 import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
 import com.inventorsoft.junit.dto.response.AuthorResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
 import com.inventorsoft.junit.service.AuthorService;
+import com.inventorsoft.junit.service.BookService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/authors")
 @RequiredArgsConstructor
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class AuthorController {
 
   AuthorService authorService;
+  BookService bookService;
+  BookFieldsWriter bookFieldsWriter;
 
-  @GetMapping("/{id}")
+  @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
   @ResponseStatus(HttpStatus.OK)
-  public AuthorResponse getById(@PathVariable Long id) {
-    return authorService.getById(id);
+  public byte[] getById(@PathVariable long id) {
+    return authorService.getJsonById(id);
   }
 
-  @GetMapping
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   @ResponseStatus(HttpStatus.OK)
-  public List<AuthorResponse> getAll() {
-    return authorService.getAll();
+  public byte[] getAll() {
+    return authorService.getAllJson();
+  }
+
+  @GetMapping(params = "limit")
+  @ResponseStatus(HttpStatus.OK)
+  public PageResponse<AuthorResponse> getPage(@RequestParam int limit, @RequestParam(required = false) String after) {
+    return authorService.getPage(after, limit);
+  }
+
+  /**
+   * Authors born between {@code from} and {@code to}, both inclusive and optional, in the order of birthday.
+   */
+  @GetMapping("/born")
+  @ResponseStatus(HttpStatus.OK)
+  public PageResponse<AuthorResponse> getByBirthday(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam(required = false) String after) {
+    return authorService.getPageByBirthday(from, to, after, limit);
+  }
+
+  @GetMapping(value = "/{id}/books", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public byte[] getBooks(@PathVariable long id,
+                         @RequestParam(defaultValue = "20") int limit,
+                         @RequestParam(required = false) String after,
+                         @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return bookFieldsWriter.write(bookService.getPageByAuthorId(id, after, limit, bookFields), bookFields);
   }
 
   @PostMapping
@@ -45,8 +88,23 @@ public class AuthorController {
     return authorService.create(request);
   }
 
+  /**
+   * Creates up to thousands of authors at once. Responds with 201 and ids when the whole batch is created,
+   * otherwise with 400 and errors of every rejected item, nothing is created in that case.
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkCreateResponse> createAll(@RequestBody List<CreateAuthorRequest> requests) {
+    BulkCreateResponse response = authorService.createAll(requests);
+    HttpStatus status = response.isCreated() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+
+    return ResponseEntity.status(status).body(response);
+  }
+
+  /**
+   * Author who still has books is deleted only with {@code cascade=true}, together with the books.
+   */
   @DeleteMapping("/{id}")
-  public void deleteById(@PathVariable Long id) {
-    authorService.deleteById(id);
+  public void deleteById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean cascade) {
+    authorService.deleteById(id, cascade);
   }
 }
@@ -1,13 +1,26 @@
 package com.inventorsoft.junit.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.inventorsoft.junit.dto.request.CreateBookRequest;
 import com.inventorsoft.junit.dto.request.UpdateBookRequest;
 import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.CacheStatsResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
 import com.inventorsoft.junit.service.BookService;
+import com.inventorsoft.junit.service.cache.VersionedJson;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,32 +28,126 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/books")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 public class BookController {
 
+  static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
   BookService bookService;
+  BookFieldsWriter bookFieldsWriter;
+
+  /**
+   * Responds with the version of the book in {@code ETag}, to be sent back in {@code If-Match} of updates.
+   */
+  @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> getById(@PathVariable long id) {
+    VersionedJson book = bookService.getVersionedJsonById(id);
+    return ResponseEntity.ok()
+        .eTag(EntityTags.of(book.getVersion()))
+        .body(book.getJson());
+  }
+
+  /**
+   * Books containing all words of {@code q} in title or description, most relevant first. Listings take
+   * {@code fields=id,title} to build and send only the named fields of every book.
+   */
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public byte[] search(@RequestParam("q") String query,
+                       @RequestParam(defaultValue = "20") int limit,
+                       @RequestParam(required = false) String after,
+                       @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return bookFieldsWriter.write(bookService.search(query, after, limit, bookFields), bookFields);
+  }
+
+  /**
+   * Books released between {@code from} and {@code to}, both inclusive and optional, in the order of release date.
+   */
+  @GetMapping(value = "/releases", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public byte[] getByReleaseDate(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return bookFieldsWriter.write(bookService.getPageByReleaseDate(from, to, after, limit, bookFields), bookFields);
+  }
+
+  @GetMapping("/cache-stats")
+  @ResponseStatus(HttpStatus.OK)
+  public CacheStatsResponse getCacheStats() {
+    return bookService.getCacheStats();
+  }
 
-  @GetMapping("/{id}")
+  @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
   @ResponseStatus(HttpStatus.OK)
-  public BookResponse getById(@PathVariable Long id) {
-    return bookService.getById(id);
+  public byte[] getAll() {
+    return bookService.getAllJson();
   }
 
-  @GetMapping
+  @GetMapping(params = {"fields", "!limit"}, produces = MediaType.APPLICATION_JSON_VALUE)
   @ResponseStatus(HttpStatus.OK)
-  public List<BookResponse> getAll() {
-    return bookService.getAll();
+  public byte[] getAll(@RequestParam String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    if (bookFields.isAll()) {
+      return bookService.getAllJson();
+    }
+    return bookFieldsWriter.write(bookService.getAll(bookFields), bookFields);
+  }
+
+  @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public byte[] getPage(@RequestParam int limit, @RequestParam(required = false) String after,
+                        @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return bookFieldsWriter.write(bookService.getPage(after, limit, bookFields), bookFields);
+  }
+
+  /**
+   * Streams the whole catalog as newline delimited JSON. Books are written while the repository is walked,
+   * blocking writes to the client keep memory bounded. The response is written on the request thread rather than
+   * asynchronously, so a slow client isn't cut off by the async request timeout.
+   */
+  @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+  public void export(@RequestParam(required = false) String fields, HttpServletResponse response)
+      throws IOException {
+    BookFields bookFields = BookFields.parse(fields);
+    ObjectWriter writer = bookFieldsWriter.writer(bookFields).forType(BookResponse.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(APPLICATION_NDJSON_VALUE);
+    try (Stream<BookResponse> books = bookService.streamAll(bookFields);
+         JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+      generator.setRootValueSeparator(null);
+
+      Iterator<BookResponse> iterator = books.iterator();
+      while (iterator.hasNext()) {
+        writer.writeValue(generator, iterator.next());
+        generator.writeRaw('\n');
+      }
+    }
   }
 
   @PostMapping
@@ -49,16 +156,35 @@ public class BookController {
     return bookService.create(createBookRequest);
   }
 
+  /**
+   * Creates up to thousands of books at once. Responds with 201 and ids when the whole batch is created,
+   * otherwise with 400 and errors of every rejected item, nothing is created in that case.
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkCreateResponse> createAll(@RequestBody List<CreateBookRequest> requests) {
+    BulkCreateResponse response = bookService.createAll(requests);
+    HttpStatus status = response.isCreated() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+
+    return ResponseEntity.status(status).body(response);
+  }
+
+  /**
+   * With {@code If-Match} the book is updated only in the given version, otherwise responds with 412. Responds
+   * with 409 when the book was changed concurrently, and with the new version in {@code ETag} on success.
+   */
   @PutMapping("{id}")
-  @ResponseStatus(HttpStatus.OK)
-  public void update(@PathVariable Long id, @RequestBody UpdateBookRequest updateBookRequest) {
-    bookService.update(id, updateBookRequest);
+  public ResponseEntity<Void> update(@PathVariable Long id, @RequestBody UpdateBookRequest updateBookRequest,
+                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    long version = bookService.update(id, updateBookRequest, EntityTags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(EntityTags.of(version)).build();
   }
 
   @PatchMapping("/{id}/authors")
-  @ResponseStatus(HttpStatus.OK)
-  public void changeAuthorForBook(@PathVariable Long id, @RequestParam Long authorId) {
-    bookService.changeAuthorForBook(id, authorId);
+  public ResponseEntity<Void> changeAuthorForBook(@PathVariable Long id, @RequestParam Long authorId,
+                                                  @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                  String ifMatch) {
+    long version = bookService.changeAuthorForBook(id, authorId, EntityTags.parseIfMatch(ifMatch));
+    return ResponseEntity.ok().eTag(EntityTags.of(version)).build();
   }
 
   @DeleteMapping("/{id}")
@@ -0,0 +1,39 @@
+package com.inventorsoft.junit.controller;
+
+import com.inventorsoft.junit.service.PreconditionFailedException;
+import lombok.experimental.UtilityClass;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Entity tags are versions of entities, {@code "3"} is the tag of the third version.
+ */
+@UtilityClass
+public class EntityTags {
+
+  final Pattern VERSION = Pattern.compile("\\d{1,18}");
+
+  public String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * @return version required by {@code If-Match} header, or {@code null} when any version is accepted
+   */
+  public Long parseIfMatch(String ifMatch) {
+    if (Objects.isNull(ifMatch) || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+
+    // weak tags never match, If-Match uses strong comparison
+    String tag = ifMatch.trim();
+    boolean quoted = tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"");
+    String version = quoted ? tag.substring(1, tag.length() - 1) : tag;
+    if (!quoted || !VERSION.matcher(version).matches()) {
+      throw new PreconditionFailedException("If-Match doesn't match any version: " + ifMatch);
+    }
+
+    return Long.parseLong(version);
+  }
+}
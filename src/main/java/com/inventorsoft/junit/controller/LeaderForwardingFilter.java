@@ -0,0 +1,101 @@
+package com.inventorsoft.junit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorsoft.junit.dto.response.ErrorResponse;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Forwards writes received by a follower to the leader and returns the leader's response, reads are served by the
+ * follower itself. A change made this way reaches the follower's repositories shortly after the response.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "repository.replication.role", havingValue = "follower")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class LeaderForwardingFilter extends OncePerRequestFilter {
+
+  static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+  static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+      HttpHeaders.IF_MATCH);
+  static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+      HttpHeaders.LOCATION);
+  static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  String leaderUrl;
+  ObjectMapper objectMapper;
+  HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+
+  public LeaderForwardingFilter(RepositoryProperties properties, ObjectMapper objectMapper) {
+    this.leaderUrl = properties.getReplication().getLeaderUrl().replaceAll("/+$", "");
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return READ_METHODS.contains(request.getMethod()) || request.getRequestURI().startsWith("/actuator");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException {
+    String query = request.getQueryString();
+    HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(leaderUrl + request.getRequestURI()
+            + (Objects.isNull(query) ? "" : "?" + query)))
+        .timeout(TIMEOUT)
+        .method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(request.getInputStream().readAllBytes()));
+    for (String header : REQUEST_HEADERS) {
+      String value = request.getHeader(header);
+      if (Objects.nonNull(value)) {
+        forwarded.header(header, value);
+      }
+    }
+
+    HttpResponse<byte[]> leaderResponse;
+    try {
+      leaderResponse = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+    } catch (IOException e) {
+      sendError(response, "Leader is not reachable: " + leaderUrl);
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      sendError(response, "Interrupted while waiting for leader: " + leaderUrl);
+      return;
+    }
+
+    response.setStatus(leaderResponse.statusCode());
+    for (String header : RESPONSE_HEADERS) {
+      leaderResponse.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+    }
+    response.getOutputStream().write(leaderResponse.body());
+  }
+
+  private void sendError(HttpServletResponse response, String message) throws IOException {
+    response.setStatus(HttpStatus.BAD_GATEWAY.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+  }
+}
@@ -0,0 +1,58 @@
+package com.inventorsoft.junit.controller;
+
+import com.inventorsoft.junit.dto.response.ErrorResponse;
+import com.inventorsoft.junit.mapper.UnknownFieldException;
+import com.inventorsoft.junit.repository.VersionConflictException;
+import com.inventorsoft.junit.service.AuthorHasBooksException;
+import com.inventorsoft.junit.service.PreconditionFailedException;
+import com.inventorsoft.junit.util.pagination.InvalidCursorException;
+import com.inventorsoft.junit.util.validation.BatchTooLargeException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps failed optimistic concurrency checks to responses, a concurrent change to 409 and an {@code If-Match}
+ * which doesn't match the current version to 412. Unknown fields of a projection, malformed cursors and too
+ * large batches are rejected with 400, deletion of an author who still has books with 409.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+  @ExceptionHandler(VersionConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleVersionConflict(VersionConflictException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+  public ErrorResponse handlePreconditionFailed(PreconditionFailedException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler(AuthorHasBooksException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleAuthorHasBooks(AuthorHasBooksException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler(UnknownFieldException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleUnknownField(UnknownFieldException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleInvalidCursor(InvalidCursorException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+
+  @ExceptionHandler(BatchTooLargeException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleBatchTooLarge(BatchTooLargeException e) {
+    return new ErrorResponse(e.getMessage());
+  }
+}
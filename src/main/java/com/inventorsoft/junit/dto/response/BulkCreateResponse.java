@@ -0,0 +1,25 @@
+package com.inventorsoft.junit.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Result of bulk create. Either all items are created and {@code ids} are in order of request items, or nothing
+ * is created and {@code errors} describe every rejected item.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkCreateResponse {
+
+  List<Long> ids = List.of();
+  List<BulkItemError> errors = List.of();
+
+  public boolean isCreated() {
+    return errors.isEmpty();
+  }
+}
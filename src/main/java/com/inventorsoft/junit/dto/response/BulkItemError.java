@@ -0,0 +1,18 @@
+package com.inventorsoft.junit.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Reason why an item of bulk request was rejected, {@code index} is the position of item in the request.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BulkItemError {
+
+  int index;
+  String message;
+}
@@ -0,0 +1,18 @@
+package com.inventorsoft.junit.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheStatsResponse {
+
+  long size;
+  long hitCount;
+  long missCount;
+  double hitRate;
+  long evictionCount;
+}
@@ -0,0 +1,17 @@
+package com.inventorsoft.junit.dto.response;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PageResponse<T> {
+
+  List<T> items;
+  String nextCursor;
+}
@@ -0,0 +1,84 @@
+package com.inventorsoft.junit.mapper;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link com.inventorsoft.junit.dto.response.BookResponse} requested by {@code fields=id,title}, the
+ * mapper builds only these and {@link BookFieldsWriter} writes only these to JSON.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public final class BookFields {
+
+  public static final BookFields ALL = new BookFields(EnumSet.allOf(Field.class));
+
+  Set<Field> fields;
+  @Getter
+  Set<String> jsonNames;
+
+  private BookFields(EnumSet<Field> fields) {
+    this.fields = Collections.unmodifiableSet(fields);
+    this.jsonNames = fields.stream()
+        .map(Field::getJsonName)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Comma separated names of fields, all fields when {@code fields} is missing or blank. A list naming no field,
+   * like {@code ","}, is rejected.
+   */
+  public static BookFields parse(String fields) {
+    if (Objects.isNull(fields) || fields.isBlank()) {
+      return ALL;
+    }
+
+    EnumSet<Field> parsed = EnumSet.noneOf(Field.class);
+    for (String name : fields.split(",")) {
+      if (!name.isBlank()) {
+        parsed.add(Field.byName(name.strip()));
+      }
+    }
+    if (parsed.isEmpty()) {
+      throw new UnknownFieldException("No field of book is named: " + fields);
+    }
+    return parsed.size() == Field.values().length ? ALL : new BookFields(parsed);
+  }
+
+  public boolean includes(Field field) {
+    return fields.contains(field);
+  }
+
+  public boolean isAll() {
+    return this == ALL;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  public enum Field {
+
+    ID("id"),
+    TITLE("title"),
+    RELEASE_DATE("releaseDate"),
+    DESCRIPTION("description"),
+    AUTHOR("author");
+
+    String jsonName;
+
+    static Field byName(String name) {
+      return Arrays.stream(values())
+          .filter(field -> field.jsonName.equals(name))
+          .findFirst()
+          .orElseThrow(() -> new UnknownFieldException("Unknown field of book: " + name));
+    }
+  }
+}
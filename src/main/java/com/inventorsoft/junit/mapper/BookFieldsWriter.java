@@ -0,0 +1,55 @@
+package com.inventorsoft.junit.mapper;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.inventorsoft.junit.dto.response.BookResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Writes responses containing books limited to {@link BookFields}. Fields left out aren't written at all, requested
+ * ones are written as in full responses, {@code null} included. Other responses are not affected, the filter is
+ * added to a copy of the application {@link ObjectMapper}.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookFieldsWriter {
+
+  static final String FILTER = "bookFields";
+
+  ObjectMapper objectMapper;
+  ObjectMapper projectionMapper;
+
+  public BookFieldsWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.projectionMapper = objectMapper.copy().addMixIn(BookResponse.class, Projection.class);
+  }
+
+  public ObjectWriter writer(BookFields fields) {
+    if (fields.isAll()) {
+      return objectMapper.writer();
+    }
+
+    SimpleBeanPropertyFilter filter = SimpleBeanPropertyFilter.filterOutAllExcept(fields.getJsonNames());
+    return projectionMapper.writer(new SimpleFilterProvider().addFilter(FILTER, filter));
+  }
+
+  public byte[] write(Object response, BookFields fields) {
+    try {
+      return writer(fields).writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Failed to render JSON", e);
+    }
+  }
+
+  @JsonFilter(FILTER)
+  private interface Projection {
+  }
+}
@@ -4,22 +4,24 @@ import com.inventorsoft.junit.dto.request.CreateBookRequest;
 import com.inventorsoft.junit.dto.request.UpdateBookRequest;
 import com.inventorsoft.junit.dto.response.AuthorResponse;
 import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.mapper.BookFields.Field;
 import com.inventorsoft.junit.model.Author;
 import com.inventorsoft.junit.model.Book;
-import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Objects;
 
 @Component
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 public class BookMapper {
 
-  AuthorRepository authorRepository;
+  AuthorLoader authorLoader;
   AuthorMapper authorMapper;
 
   public List<BookResponse> mapEntitiesToResponses(List<Book> books) {
@@ -28,19 +30,50 @@ public class BookMapper {
         .toList();
   }
 
+  public List<BookResponse> mapEntitiesToResponses(List<Book> books, BookFields fields) {
+    return books.stream()
+        .map(book -> mapEntityToResponse(book, fields))
+        .toList();
+  }
+
   public BookResponse mapEntityToResponse(Book book) {
+    return mapEntityToResponse(book, BookFields.ALL);
+  }
+
+  /**
+   * Builds only requested fields, the author isn't mapped at all unless it is requested.
+   */
+  public BookResponse mapEntityToResponse(Book book, BookFields fields) {
     BookResponse response = new BookResponse();
-    response.setId(book.getId());
-    response.setTitle(book.getDescription());
-    response.setReleaseDate(book.getReleaseDate());
-    response.setDescription(book.getDescription());
+    if (fields.includes(Field.ID)) {
+      response.setId(book.getId());
+    }
+    if (fields.includes(Field.TITLE)) {
+      response.setTitle(book.getTitle());
+    }
+    if (fields.includes(Field.RELEASE_DATE)) {
+      response.setReleaseDate(book.getReleaseDate());
+    }
+    if (fields.includes(Field.DESCRIPTION)) {
+      response.setDescription(book.getDescription());
+    }
 
-    AuthorResponse author = authorMapper.mapEntityToResponse(book.getAuthor());
-    response.setAuthor(author);
+    if (fields.includes(Field.AUTHOR)) {
+      AuthorResponse author = authorMapper.mapEntityToResponse(currentAuthorOf(book));
+      response.setAuthor(author);
+    }
 
     return response;
   }
 
+  /**
+   * Author as currently stored, the copy embedded into the book is the one the book was saved with.
+   */
+  private Author currentAuthorOf(Book book) {
+    Author author = book.getAuthor();
+    return Objects.isNull(author) ? null : authorLoader.load(author.getId()).orElse(author);
+  }
+
   public Book mapCreateRequestToEntity(CreateBookRequest request) {
     Book book = new Book();
     book.setTitle(request.getTitle());
@@ -52,9 +85,22 @@ public class BookMapper {
     return book;
   }
 
+  /**
+   * Maps request with already resolved author, used when authors of many requests are loaded at once.
+   */
+  public Book mapCreateRequestToEntity(CreateBookRequest request, Author author) {
+    Book book = new Book();
+    book.setTitle(request.getTitle());
+    book.setReleaseDate(request.getReleaseDate());
+    book.setDescription(request.getDescription());
+    book.setAuthor(author);
+
+    return book;
+  }
+
   private void initAuthorToBook(Book book, CreateBookRequest request) {
-    Author author = authorRepository
-        .findById(request.getAuthorId())
+    Author author = authorLoader
+        .load(request.getAuthorId())
         .orElseThrow(() -> new RuntimeException("Author not found with id: " + request.getAuthorId()));
 
     book.setAuthor(author);
@@ -0,0 +1,11 @@
+package com.inventorsoft.junit.mapper;
+
+/**
+ * Thrown when a client asked for a field of a response which doesn't exist, or named no field at all.
+ */
+public class UnknownFieldException extends RuntimeException {
+
+  public UnknownFieldException(String message) {
+    super(message);
+  }
+}
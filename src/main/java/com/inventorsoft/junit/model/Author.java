@@ -10,9 +10,20 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class Author {
+public class Author implements Identifiable {
 
   Long id;
   String name;
   LocalDate birthday;
+  long version;
+
+  @Override
+  public Author copy() {
+    Author copy = new Author();
+    copy.id = id;
+    copy.name = name;
+    copy.birthday = birthday;
+    copy.version = version;
+    return copy;
+  }
 }
@@ -11,11 +11,27 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class Book {
+public class Book implements Identifiable {
 
   Long id;
   String title;
   LocalDate releaseDate;
   String description;
   Author author;
+  long version;
+
+  /**
+   * Copy to be modified and saved instead of the stored book, which is shared with readers. Author is shared.
+   */
+  @Override
+  public Book copy() {
+    Book copy = new Book();
+    copy.id = id;
+    copy.title = title;
+    copy.releaseDate = releaseDate;
+    copy.description = description;
+    copy.author = author;
+    copy.version = version;
+    return copy;
+  }
 }
@@ -0,0 +1,23 @@
+package com.inventorsoft.junit.model;
+
+/**
+ * Entity which is identified by generated numeric id.
+ */
+public interface Identifiable {
+
+  Long getId();
+
+  void setId(Long id);
+
+  /**
+   * Number of times the entity was saved, changes with every modification.
+   */
+  long getVersion();
+
+  void setVersion(long version);
+
+  /**
+   * Shallow copy, repositories keep copies of saved entities as snapshots shared with readers.
+   */
+  Identifiable copy();
+}
@@ -1,69 +1,73 @@
 package com.inventorsoft.junit.repository;
 
 import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.id.IdGenerators;
+import com.inventorsoft.junit.repository.index.DateRangeIndex;
+import com.inventorsoft.junit.repository.index.UniqueIndex;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 
 /**
- * Simple implementation of repository, stores data in map.
+ * Simple implementation of repository, stores data in thread safe {@link ConcurrentEntityStore}.
  */
 @Component
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-public class AuthorRepository implements Repository<Author, Long> {
+public class AuthorRepository extends StoreRepository<Author> {
 
-  Map<Long, Author> authorMap = new LinkedHashMap<>();
+  UniqueIndex<Author> nameIndex;
+  DateRangeIndex<Author> birthdayIndex;
 
-  @Override
-  public Optional<Author> findById(Long id) {
-    return Optional.ofNullable(authorMap.get(id));
+  public AuthorRepository() {
+    this(new RepositoryProperties());
   }
 
-  @Override
-  public List<Author> findAll() {
-    return new ArrayList<>(authorMap.values());
+  @Autowired
+  public AuthorRepository(RepositoryProperties properties) {
+    super(new ConcurrentEntityStore<>(), IdGenerators.create(properties.getIdGeneration()));
+    this.nameIndex = new UniqueIndex<>(Author::getName, properties.isCaseInsensitiveNames());
+    store.addListener(nameIndex);
+    // registered after the name index, so changes rejected by it are never indexed
+    this.birthdayIndex = new DateRangeIndex<>(Author::getBirthday);
+    store.addListener(birthdayIndex);
   }
 
-  @Override
-  public <S extends Author> S save(S entity) {
-    if (Objects.isNull(entity.getId())) {
-      Long id = getNewAvailableId();
-      entity.setId(id);
-    }
-
-    authorMap.put(entity.getId(), entity);
-
-    return entity;
-  }
-
-  private Long getNewAvailableId() {
-    long newId = authorMap.keySet().stream()
-        .mapToLong(key -> key)
-        .max()
-        .orElse(-1L);
-
-    return newId + 1;
+  public boolean existsByName(String name) {
+    return nameIndex.contains(name);
   }
 
-  @Override
-  public void deleteById(Long id) {
-    authorMap.remove(id);
+  public Optional<Author> findByName(String name) {
+    return nameIndex.findId(name).flatMap(this::findById);
   }
 
-  public boolean existsByName(String name) {
-    return authorMap.values()
+  /**
+   * Authors born within the window, both ends inclusive and optional, in the order of birthday.
+   *
+   * @param afterDate date returned with previous slice, or {@code null} to start from the beginning
+   * @param afterId id returned as position of previous slice
+   */
+  public DateSlice<Author> findByBirthdayBetween(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId,
+                                                 int limit) {
+    DateSlice<Long> ids = birthdayIndex.findIds(from, to, afterDate, afterId, limit);
+    List<Author> authors = ids.getContent()
         .stream()
-        .anyMatch(author -> author.getName().equals(name.trim()));
+        .map(this::findById)
+        .flatMap(Optional::stream)
+        .toList();
+
+    return new DateSlice<>(authors, ids.getNextPosition(), ids.getNextDate());
   }
 
-  public boolean existsById(Long authorId) {
-    return authorMap.containsKey(authorId);
+  /**
+   * @return name in the form it is compared by uniqueness checks
+   */
+  public String normalizeName(String name) {
+    return nameIndex.normalize(name);
   }
 }
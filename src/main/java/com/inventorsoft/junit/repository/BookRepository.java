@@ -1,65 +1,172 @@
 package com.inventorsoft.junit.repository;
 
 import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.id.IdGenerator;
+import com.inventorsoft.junit.repository.id.IdGenerators;
+import com.inventorsoft.junit.repository.id.ShardedIdGenerator;
+import com.inventorsoft.junit.repository.index.DateRangeIndex;
+import com.inventorsoft.junit.repository.index.InvertedIndex;
+import com.inventorsoft.junit.repository.index.ReferenceIndex;
+import com.inventorsoft.junit.repository.index.TextAnalyzer;
+import com.inventorsoft.junit.repository.index.UniqueIndex;
+import com.inventorsoft.junit.repository.persistence.BookCodec;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import com.inventorsoft.junit.repository.store.EntityStore;
+import com.inventorsoft.junit.repository.store.MappedEntityStore;
+import com.inventorsoft.junit.repository.store.ShardedEntityStore;
+import com.inventorsoft.junit.repository.store.StorageType;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import javax.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
- * Simple implementation of repository, stores data in map.
+ * Simple implementation of repository, stores data in thread safe {@link ConcurrentEntityStore}, off heap in
+ * {@link MappedEntityStore} for very large catalogs, or in {@link ShardedEntityStore} for write heavy ingestion.
  */
 @Component
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
-public class BookRepository implements Repository<Book, Long> {
+public class BookRepository extends StoreRepository<Book> {
 
-  Map<Long, Book> bookMap = new LinkedHashMap<>();
+  UniqueIndex<Book> titleIndex;
+  InvertedIndex<Book> searchIndex;
+  ReferenceIndex<Book> authorIndex;
+  DateRangeIndex<Book> releaseDateIndex;
 
-  @Override
-  public Optional<Book> findById(Long id) {
-    return Optional.ofNullable(bookMap.get(id));
+  public BookRepository() {
+    this(new RepositoryProperties(), new AuthorRepository());
   }
 
-  @Override
-  public List<Book> findAll() {
-    return new ArrayList<>(bookMap.values());
+  @Autowired
+  public BookRepository(RepositoryProperties properties, AuthorRepository authorRepository) {
+    super(createStore(properties.getBookStorage(), authorRepository),
+        createIdGenerator(properties));
+    this.titleIndex = new UniqueIndex<>(Book::getTitle, properties.isCaseInsensitiveNames());
+    store.addListener(titleIndex);
+
+    // registered after the title index, so changes rejected by it are never indexed
+    this.searchIndex = new InvertedIndex<>(new TextAnalyzer(properties.getSearch().isStemming()),
+        Book::getTitle, Book::getDescription);
+    store.addListener(searchIndex);
+    this.authorIndex = new ReferenceIndex<>(BookRepository::authorIdOf);
+    store.addListener(authorIndex);
+    this.releaseDateIndex = new DateRangeIndex<>(Book::getReleaseDate);
+    store.addListener(releaseDateIndex);
   }
 
-  @Override
-  public <S extends Book> S save(S entity) {
-    if (Objects.isNull(entity.getId())) {
-      Long id = getNewAvailableId();
-      entity.setId(id);
+  /**
+   * Releases resources of the store, the memory mapped segments of {@link StorageType#MAPPED} storage.
+   */
+  @PreDestroy
+  public void close() throws IOException {
+    if (store instanceof Closeable closeable) {
+      closeable.close();
     }
+  }
 
-    bookMap.put(entity.getId(), entity);
+  private static Long authorIdOf(Book book) {
+    return Objects.isNull(book.getAuthor()) ? null : book.getAuthor().getId();
+  }
 
-    return entity;
+  private static EntityStore<Book> createStore(RepositoryProperties.BookStorage settings,
+                                              AuthorRepository authorRepository) {
+    return switch (settings.getType()) {
+      case HEAP -> new ConcurrentEntityStore<>();
+      case MAPPED -> new MappedEntityStore<>(Path.of(settings.getDirectory()), "books",
+          new BookCodec(authorRepository::findById), (int) settings.getSegmentSize().toBytes());
+      case SHARDED -> new ShardedEntityStore<>(settings.getPartitions());
+    };
   }
 
-  private Long getNewAvailableId() {
-    long newId = bookMap.keySet().stream()
-        .mapToLong(key -> key)
-        .max()
-        .orElse(-1L);
+  private static IdGenerator createIdGenerator(RepositoryProperties properties) {
+    RepositoryProperties.BookStorage settings = properties.getBookStorage();
+    if (settings.getType() == StorageType.SHARDED) {
+      // new books of a thread go to one partition
+      return new ShardedIdGenerator(settings.getPartitions());
+    }
 
-    return newId + 1;
+    return IdGenerators.create(properties.getIdGeneration());
   }
 
-  @Override
-  public void deleteById(Long id) {
-    bookMap.remove(id);
+  public boolean existsByTitle(String title) {
+    return titleIndex.contains(title);
   }
 
-  public boolean existsByTitle(String title) {
-    return bookMap.values()
+  public Optional<Book> findByTitle(String title) {
+    return titleIndex.findId(title).flatMap(this::findById);
+  }
+
+  public boolean existsByAuthorId(long authorId) {
+    return authorIndex.contains(authorId);
+  }
+
+  /**
+   * Keyset pagination over books of the author in id order.
+   *
+   * @param after id returned as position of previous slice, or {@code null} to start from the beginning
+   */
+  public Slice<Book> findByAuthorId(long authorId, Long after, int limit) {
+    Slice<Long> ids = authorIndex.findIds(authorId, after, limit);
+    List<Book> books = ids.getContent()
         .stream()
-        .anyMatch(author -> author.getTitle().equals(title.trim()));
+        .map(this::findById)
+        .flatMap(Optional::stream)
+        .toList();
+
+    return new Slice<>(books, ids.getNextPosition());
+  }
+
+  public List<Long> findIdsByAuthorId(long authorId) {
+    return authorIndex.findAllIds(authorId);
+  }
+
+  /**
+   * Books released within the window, both ends inclusive and optional, in the order of release date.
+   *
+   * @param afterDate date returned with previous slice, or {@code null} to start from the beginning
+   * @param afterId id returned as position of previous slice
+   */
+  public DateSlice<Book> findByReleaseDateBetween(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId,
+                                                  int limit) {
+    DateSlice<Long> ids = releaseDateIndex.findIds(from, to, afterDate, afterId, limit);
+    List<Book> books = ids.getContent()
+        .stream()
+        .map(this::findById)
+        .flatMap(Optional::stream)
+        .toList();
+
+    return new DateSlice<>(books, ids.getNextPosition(), ids.getNextDate());
+  }
+
+  /**
+   * Books containing all words of the query in title or description, most relevant first.
+   *
+   * @param offset position returned by previous slice, or {@code 0} to start from the best match
+   */
+  public Slice<Book> search(String query, long offset, int limit) {
+    Slice<Long> ids = searchIndex.search(query, offset, limit);
+    List<Book> books = ids.getContent()
+        .stream()
+        .map(this::findById)
+        .flatMap(Optional::stream)
+        .toList();
+
+    return new Slice<>(books, ids.getNextPosition());
+  }
+
+  /**
+   * @return title in the form it is compared by uniqueness checks
+   */
+  public String normalizeTitle(String title) {
+    return titleIndex.normalize(title);
   }
 }
@@ -0,0 +1,24 @@
+package com.inventorsoft.junit.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Part of entities in the order of a date attribute. Position to continue after is the id together with the
+ * date of the last entity, {@code nextDate} is {@code null} as well when there are no more entities.
+ */
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DateSlice<T> extends Slice<T> {
+
+  LocalDate nextDate;
+
+  public DateSlice(List<T> content, Long nextPosition, LocalDate nextDate) {
+    super(content, nextPosition);
+    this.nextDate = nextDate;
+  }
+}
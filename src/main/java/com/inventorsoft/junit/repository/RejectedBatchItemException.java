@@ -0,0 +1,21 @@
+package com.inventorsoft.junit.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Thrown when an entity of a batch is rejected by an index of the store after the batch was validated, for example
+ * when a concurrent writer took a unique value meanwhile. {@code index} is the position of the entity in the batch.
+ */
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class RejectedBatchItemException extends RuntimeException {
+
+  int index;
+
+  public RejectedBatchItemException(int index, RuntimeException cause) {
+    super(cause.getMessage(), cause);
+    this.index = index;
+  }
+}
@@ -2,6 +2,7 @@ package com.inventorsoft.junit.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface Repository<T, ID> {
 
@@ -9,6 +10,21 @@ public interface Repository<T, ID> {
 
   List<T> findAll();
 
+  /**
+   * Keyset pagination over entities in {@link #findAll()} order.
+   *
+   * @param after position returned by previous slice, or {@code null} to start from the beginning
+   */
+  Slice<T> findAfter(Long after, int limit);
+
+  /**
+   * Lazily walks entities in {@link #findAll()} order without copying them. Concurrent changes may or may not
+   * be reflected.
+   */
+  Stream<T> streamAll();
+
+  long count();
+
   <S extends T> S save(S entity);
 
   void deleteById(ID id);
@@ -0,0 +1,149 @@
+package com.inventorsoft.junit.repository;
+
+import com.inventorsoft.junit.repository.id.IdGenerationType;
+import com.inventorsoft.junit.repository.persistence.FsyncPolicy;
+import com.inventorsoft.junit.repository.replication.ReplicationRole;
+import com.inventorsoft.junit.repository.store.StorageType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of in-memory repositories, bound from {@code repository.*} properties.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties("repository")
+public class RepositoryProperties {
+
+  IdGeneration idGeneration = new IdGeneration();
+
+  /**
+   * Whether author names and book titles are compared ignoring case by uniqueness checks.
+   */
+  boolean caseInsensitiveNames;
+
+  Persistence persistence = new Persistence();
+
+  BookStorage bookStorage = new BookStorage();
+
+  Search search = new Search();
+
+  Replication replication = new Replication();
+
+  @Getter
+  @Setter
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class IdGeneration {
+
+    IdGenerationType type = IdGenerationType.SEQUENCE;
+
+    /**
+     * Amount of ids reserved at once by {@link IdGenerationType#HI_LO} generator.
+     */
+    int blockSize = 100;
+
+    /**
+     * Node id embedded into ids by {@link IdGenerationType#SNOWFLAKE} generator.
+     */
+    long workerId;
+  }
+
+  @Getter
+  @Setter
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class Persistence {
+
+    /**
+     * Whether repositories are restored at startup and every change is written to the log.
+     */
+    boolean enabled;
+
+    /**
+     * Directory of write-ahead logs and snapshots.
+     */
+    String directory = "data";
+
+    FsyncPolicy fsyncPolicy = FsyncPolicy.BATCH;
+
+    /**
+     * How often log is forced to disk with {@link FsyncPolicy#INTERVAL} policy.
+     */
+    Duration fsyncInterval = Duration.ofSeconds(1);
+
+    Duration snapshotInterval = Duration.ofMinutes(10);
+  }
+
+  @Getter
+  @Setter
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class BookStorage {
+
+    /**
+     * Where books are kept. {@link StorageType#MAPPED} storage keeps data between restarts by itself, so books
+     * are not written to the write-ahead log then.
+     */
+    StorageType type = StorageType.HEAP;
+
+    /**
+     * Directory of segment files of {@link StorageType#MAPPED} storage.
+     */
+    String directory = "data/books";
+
+    DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Number of partitions of {@link StorageType#SHARDED} storage. Ids of books are allocated per partition then,
+     * regardless of the id generation settings.
+     */
+    int partitions = Runtime.getRuntime().availableProcessors();
+  }
+
+  @Getter
+  @Setter
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class Search {
+
+    /**
+     * Whether plural forms of English words are found by the singular form and vice versa.
+     */
+    boolean stemming = true;
+  }
+
+  @Getter
+  @Setter
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public static class Replication {
+
+    ReplicationRole role = ReplicationRole.NONE;
+
+    /**
+     * Port the leader accepts followers on, 0 picks a free one.
+     */
+    int port = 7070;
+
+    String leaderHost = "localhost";
+
+    int leaderPort = 7070;
+
+    /**
+     * Base URL of the leader's HTTP API, followers forward writes there.
+     */
+    String leaderUrl = "http://localhost:8080";
+
+    Duration reconnectInterval = Duration.ofSeconds(1);
+
+    /**
+     * Changes buffered for a follower which can't keep up. When the buffer is full the follower is disconnected,
+     * it reconnects and loads everything again. Changes made while the follower loads the stored entities are kept
+     * regardless of the size.
+     */
+    int followerBufferSize = 64 * 1024;
+  }
+}
@@ -0,0 +1,26 @@
+package com.inventorsoft.junit.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Part of entities in storage order. {@code nextPosition} is the position to continue after, or {@code null}
+ * when there are no more entities.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class Slice<T> {
+
+  List<T> content;
+  Long nextPosition;
+
+  public boolean hasNext() {
+    return Objects.nonNull(nextPosition);
+  }
+}
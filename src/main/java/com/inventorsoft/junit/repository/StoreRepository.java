@@ -0,0 +1,232 @@
+package com.inventorsoft.junit.repository;
+
+import com.inventorsoft.junit.model.Identifiable;
+import com.inventorsoft.junit.repository.id.IdGenerator;
+import com.inventorsoft.junit.repository.index.DuplicateValueException;
+import com.inventorsoft.junit.repository.store.EntityStore;
+import com.inventorsoft.junit.repository.store.StoreJournal;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Base of in-memory repositories, keeps entities in {@link EntityStore} and assigns ids with {@link IdGenerator}.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PROTECTED)
+public abstract class StoreRepository<T extends Identifiable> implements Repository<T, Long> {
+
+  EntityStore<T> store;
+  IdGenerator idGenerator;
+
+  @NonFinal
+  StoreJournal<T> journal = StoreJournal.none();
+
+  protected StoreRepository(EntityStore<T> store, IdGenerator idGenerator) {
+    this.store = store;
+    this.idGenerator = idGenerator;
+
+    if (store.highestId() >= 0) {
+      idGenerator.advanceTo(store.highestId());
+    }
+  }
+
+  @Override
+  public Optional<T> findById(Long id) {
+    if (Objects.isNull(id)) {
+      return Optional.empty();
+    }
+
+    return findById(id.longValue());
+  }
+
+  /**
+   * Lookup without boxing of the id.
+   */
+  public Optional<T> findById(long id) {
+    return Optional.ofNullable(store.get(id));
+  }
+
+  /**
+   * Lookup without boxing of the id and without wrapping of the result, for hot read paths.
+   *
+   * @return stored entity, or {@code null} when there is none
+   */
+  public T getOrNull(long id) {
+    return store.get(id);
+  }
+
+  public List<T> findAllById(Collection<Long> ids) {
+    return ids.stream()
+        .filter(Objects::nonNull)
+        .map(store::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  public boolean existsById(Long id) {
+    return Objects.nonNull(id) && existsById(id.longValue());
+  }
+
+  public boolean existsById(long id) {
+    return store.contains(id);
+  }
+
+  @Override
+  public List<T> findAll() {
+    return store.values();
+  }
+
+  @Override
+  public Slice<T> findAfter(Long after, int limit) {
+    return store.slice(after, limit);
+  }
+
+  @Override
+  public Stream<T> streamAll() {
+    return store.stream();
+  }
+
+  @Override
+  public long count() {
+    return store.size();
+  }
+
+  /**
+   * Assigns id to a new entity and increments version of the entity. The store keeps a copy of the entity, a
+   * snapshot which is never modified, so readers always see consistent entities without locking, and the saved
+   * entity stays private to the caller. An existing entity is saved only when the stored one still has the version
+   * the entity was read with, an entity which was read and deleted meanwhile is not created again.
+   *
+   * @throws VersionConflictException when the stored entity was changed or deleted meanwhile
+   * @throws IllegalArgumentException when the stored snapshot itself was modified and saved, instead of a copy
+   */
+  @Override
+  public <S extends T> S save(S entity) {
+    if (Objects.isNull(entity.getId())) {
+      entity.setId(idGenerator.nextId());
+    } else {
+      idGenerator.advanceTo(entity.getId());
+    }
+
+    long id = entity.getId();
+    long expectedVersion = entity.getVersion();
+    T snapshot = snapshotOf(entity);
+    snapshot.setVersion(expectedVersion + 1);
+
+    boolean saved = store.putIf(id, snapshot, current -> {
+      if (current == entity) {
+        throw new IllegalArgumentException("Stored entity can't be modified, save a copy of it, id: " + id);
+      }
+      // entities are stored in version 1 and higher, an absent one is expected only by the first save
+      return Objects.isNull(current) ? expectedVersion == 0 : current.getVersion() == expectedVersion;
+    });
+    if (!saved) {
+      throw new VersionConflictException(id, expectedVersion);
+    }
+
+    entity.setVersion(expectedVersion + 1);
+    return entity;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T snapshotOf(T entity) {
+    return (T) entity.copy();
+  }
+
+  /**
+   * Saves all entities or none of them. New entities get ids from one block. When some entity is rejected by
+   * the store, entities saved before it are rolled back and the exception is rethrown, a duplicate of a unique
+   * value as {@link RejectedBatchItemException} with the position of the entity.
+   */
+  public <S extends T> List<S> saveAll(List<S> entities) {
+    int newEntities = (int) entities.stream()
+        .filter(entity -> Objects.isNull(entity.getId()))
+        .count();
+    long[] ids = idGenerator.nextIds(newEntities);
+
+    int nextId = 0;
+    for (S entity : entities) {
+      if (Objects.isNull(entity.getId())) {
+        entity.setId(ids[nextId++]);
+      }
+    }
+
+    List<T> previousValues = new ArrayList<>(entities.size());
+    try {
+      for (S entity : entities) {
+        previousValues.add(store.get(entity.getId()));
+        save(entity);
+      }
+    } catch (DuplicateValueException e) {
+      rollback(entities, previousValues);
+      throw new RejectedBatchItemException(previousValues.size() - 1, e);
+    } catch (RuntimeException e) {
+      rollback(entities, previousValues);
+      throw e;
+    }
+
+    return entities;
+  }
+
+  private void rollback(List<? extends T> entities, List<T> previousValues) {
+    for (int i = previousValues.size() - 1; i >= 0; i--) {
+      long id = entities.get(i).getId();
+      T previousValue = previousValues.get(i);
+
+      if (Objects.isNull(previousValue)) {
+        store.remove(id);
+      } else {
+        store.put(id, previousValue);
+      }
+    }
+  }
+
+  @Override
+  public void deleteById(Long id) {
+    if (Objects.isNull(id)) {
+      return;
+    }
+
+    store.remove(id);
+  }
+
+  /**
+   * Puts previously persisted entities back as they are, generator continues after {@code lastIssuedId}. Unique
+   * values are not checked, see {@link EntityStore#restore}.
+   */
+  public void restore(List<T> entities, long lastIssuedId) {
+    if (lastIssuedId >= 0) {
+      idGenerator.advanceTo(lastIssuedId);
+    }
+    entities.forEach(this::apply);
+  }
+
+  /**
+   * Puts entity received from another instance as it is, like {@link #restore}, without version and unique value
+   * checks.
+   */
+  public void apply(T entity) {
+    idGenerator.advanceTo(entity.getId());
+    store.restore(entity.getId(), entity);
+  }
+
+  /**
+   * Adds a journal which records following changes after the journals added before it, e.g. both to the
+   * write-ahead log and to replicas.
+   */
+  public synchronized void addJournal(StoreJournal<T> journal) {
+    this.journal = this.journal.andThen(journal);
+    store.setJournal(this.journal);
+  }
+
+  public long lastIssuedId() {
+    return idGenerator.currentValue();
+  }
+}
@@ -0,0 +1,22 @@
+package com.inventorsoft.junit.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Thrown when an entity is saved, but the stored one was changed since the entity was read.
+ */
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class VersionConflictException extends RuntimeException {
+
+  long id;
+  long expectedVersion;
+
+  public VersionConflictException(long id, long expectedVersion) {
+    super("Entity was modified concurrently, id: " + id + ", expected version: " + expectedVersion);
+    this.id = id;
+    this.expectedVersion = expectedVersion;
+  }
+}
@@ -0,0 +1,70 @@
+package com.inventorsoft.junit.repository.id;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+/**
+ * Block allocator. Reserves blocks of ids from the shared high value and hands them out one by one, so only
+ * the high value has to be persisted. Batch inserts get their own contiguous block.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HiLoIdGenerator implements IdGenerator {
+
+  final int blockSize;
+  final AtomicLong high = new AtomicLong();
+  final ReentrantLock blockLock = new ReentrantLock();
+
+  long next;
+  long limit;
+
+  public HiLoIdGenerator(int blockSize) {
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+    }
+    this.blockSize = blockSize;
+  }
+
+  @Override
+  public long nextId() {
+    blockLock.lock();
+    try {
+      if (next >= limit) {
+        next = high.getAndAdd(blockSize);
+        limit = next + blockSize;
+      }
+      return next++;
+    } finally {
+      blockLock.unlock();
+    }
+  }
+
+  @Override
+  public long[] nextIds(int count) {
+    long first = high.getAndAdd(count);
+    return LongStream.range(first, first + count).toArray();
+  }
+
+  @Override
+  public void advanceTo(long usedId) {
+    high.accumulateAndGet(usedId + 1, Math::max);
+
+    blockLock.lock();
+    try {
+      if (usedId >= next) {
+        // the rest of current block may be already taken, drop it
+        next = limit;
+      }
+    } finally {
+      blockLock.unlock();
+    }
+  }
+
+  @Override
+  public long currentValue() {
+    return high.get() - 1;
+  }
+}
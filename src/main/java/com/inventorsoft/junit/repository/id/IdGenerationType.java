@@ -0,0 +1,8 @@
+package com.inventorsoft.junit.repository.id;
+
+public enum IdGenerationType {
+
+  SEQUENCE,
+  HI_LO,
+  SNOWFLAKE
+}
@@ -0,0 +1,32 @@
+package com.inventorsoft.junit.repository.id;
+
+/**
+ * Allocates ids for new entities. Implementations are thread safe and never hand out the same id twice,
+ * even after entities are deleted.
+ */
+public interface IdGenerator {
+
+  long nextId();
+
+  /**
+   * Allocates ids for a batch insert at once.
+   */
+  default long[] nextIds(int count) {
+    long[] ids = new long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = nextId();
+    }
+    return ids;
+  }
+
+  /**
+   * Makes sure that ids generated afterwards are greater than given one. Used when entity with already
+   * assigned id is saved, e.g. while restoring persisted state at startup.
+   */
+  void advanceTo(long usedId);
+
+  /**
+   * @return last allocated id, or value which allows to restore the generator via {@link #advanceTo(long)}
+   */
+  long currentValue();
+}
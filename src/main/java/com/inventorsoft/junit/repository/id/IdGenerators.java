@@ -0,0 +1,16 @@
+package com.inventorsoft.junit.repository.id;
+
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class IdGenerators {
+
+  public IdGenerator create(RepositoryProperties.IdGeneration settings) {
+    return switch (settings.getType()) {
+      case SEQUENCE -> new SequenceIdGenerator();
+      case HI_LO -> new HiLoIdGenerator(settings.getBlockSize());
+      case SNOWFLAKE -> new SnowflakeIdGenerator(settings.getWorkerId());
+    };
+  }
+}
@@ -0,0 +1,37 @@
+package com.inventorsoft.junit.repository.id;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Atomic sequence, first generated id is 0.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SequenceIdGenerator implements IdGenerator {
+
+  AtomicLong lastId = new AtomicLong(-1L);
+
+  @Override
+  public long nextId() {
+    return lastId.incrementAndGet();
+  }
+
+  @Override
+  public long[] nextIds(int count) {
+    long first = lastId.getAndAdd(count) + 1;
+    return LongStream.range(first, first + count).toArray();
+  }
+
+  @Override
+  public void advanceTo(long usedId) {
+    lastId.accumulateAndGet(usedId, Math::max);
+  }
+
+  @Override
+  public long currentValue() {
+    return lastId.get();
+  }
+}
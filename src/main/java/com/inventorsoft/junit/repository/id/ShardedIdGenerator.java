@@ -0,0 +1,72 @@
+package com.inventorsoft.junit.repository.id;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+
+/**
+ * Per-shard sequences for {@link com.inventorsoft.junit.repository.store.ShardedEntityStore}. Shard {@code s} of
+ * {@code n} hands out ids {@code s, s + n, s + 2n, ...}, so an id belongs to partition {@code id % n} of the store.
+ * Every thread allocates from the shard picked by its id, threads of different shards share no counter and their
+ * entities land in different partitions. Counters are padded to separate cache lines.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ShardedIdGenerator implements IdGenerator {
+
+  static final int PADDING = 16;
+
+  int shards;
+  AtomicLongArray counters;
+
+  public ShardedIdGenerator(int shards) {
+    if (shards <= 0) {
+      throw new IllegalArgumentException("Number of shards must be positive: " + shards);
+    }
+    this.shards = shards;
+    this.counters = new AtomicLongArray(shards * PADDING);
+  }
+
+  @Override
+  public long nextId() {
+    int shard = currentShard();
+    return counters.getAndIncrement(shard * PADDING) * shards + shard;
+  }
+
+  @Override
+  public long[] nextIds(int count) {
+    int shard = currentShard();
+    long first = counters.getAndAdd(shard * PADDING, count);
+    return LongStream.range(first, first + count)
+        .map(sequence -> sequence * shards + shard)
+        .toArray();
+  }
+
+  @Override
+  public void advanceTo(long usedId) {
+    long next = usedId / shards + 1;
+    for (int shard = 0; shard < shards; shard++) {
+      // updates of stored entities pass here as well, don't write shared counters when nothing changes
+      if (counters.get(shard * PADDING) < next) {
+        counters.accumulateAndGet(shard * PADDING, next, Math::max);
+      }
+    }
+  }
+
+  @Override
+  public long currentValue() {
+    long lastId = -1L;
+    for (int shard = 0; shard < shards; shard++) {
+      long counter = counters.get(shard * PADDING);
+      if (counter > 0) {
+        lastId = Math.max(lastId, (counter - 1) * shards + shard);
+      }
+    }
+    return lastId;
+  }
+
+  private int currentShard() {
+    return (int) Math.floorMod(Thread.currentThread().getId(), (long) shards);
+  }
+}
@@ -0,0 +1,75 @@
+package com.inventorsoft.junit.repository.id;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time ordered ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of worker id and 12 bits of
+ * sequence within millisecond. Ids stay monotonic when the clock goes back or sequence overflows, in that case
+ * generator borrows the next millisecond.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class SnowflakeIdGenerator implements IdGenerator {
+
+  static final long EPOCH = Instant.parse("2022-01-01T00:00:00Z").toEpochMilli();
+  static final int WORKER_BITS = 10;
+  static final int SEQUENCE_BITS = 12;
+  static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+  static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+  static final int TIMESTAMP_SHIFT = WORKER_BITS + SEQUENCE_BITS;
+
+  long workerId;
+  Clock clock;
+  AtomicLong lastId = new AtomicLong(-1L);
+
+  public SnowflakeIdGenerator(long workerId) {
+    this(workerId, Clock.systemUTC());
+  }
+
+  public SnowflakeIdGenerator(long workerId, Clock clock) {
+    if (workerId < 0 || workerId > MAX_WORKER_ID) {
+      throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+    }
+    this.workerId = workerId;
+    this.clock = clock;
+  }
+
+  @Override
+  public long nextId() {
+    return lastId.updateAndGet(this::following);
+  }
+
+  private long following(long previousId) {
+    long timestamp = clock.millis() - EPOCH;
+    long previousTimestamp = previousId < 0 ? -1L : previousId >>> TIMESTAMP_SHIFT;
+    long previousSequence = previousId & MAX_SEQUENCE;
+
+    if (timestamp > previousTimestamp) {
+      return compose(timestamp, 0);
+    }
+    if (previousSequence < MAX_SEQUENCE) {
+      return compose(previousTimestamp, previousSequence + 1);
+    }
+    return compose(previousTimestamp + 1, 0);
+  }
+
+  private long compose(long timestamp, long sequence) {
+    return timestamp << TIMESTAMP_SHIFT | workerId << SEQUENCE_BITS | sequence;
+  }
+
+  @Override
+  public void advanceTo(long usedId) {
+    long timestamp = usedId >>> TIMESTAMP_SHIFT;
+    long sequence = usedId & MAX_SEQUENCE;
+    lastId.accumulateAndGet(compose(timestamp, sequence), Math::max);
+  }
+
+  @Override
+  public long currentValue() {
+    return lastId.get();
+  }
+}
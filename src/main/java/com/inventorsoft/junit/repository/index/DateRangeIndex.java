@@ -0,0 +1,100 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.repository.DateSlice;
+import com.inventorsoft.junit.repository.store.StoreListener;
+import com.inventorsoft.junit.util.collection.StripedLongMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Sorted index over a date attribute of entity, a concurrent skip list of {@code (date, id)} pairs, so a date
+ * window is found in logarithmic time and walked in the order of dates. Keeps the date of every indexed id as
+ * well, since entities may be modified in place before they are saved and the old date can't be read from them.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DateRangeIndex<T> implements StoreListener<T> {
+
+  Function<T, LocalDate> keyExtractor;
+
+  NavigableSet<Key> keys = new ConcurrentSkipListSet<>(Comparator.comparingLong((Key key) -> key.day)
+      .thenComparingLong(key -> key.id));
+  StripedLongMap<Key> keysById = new StripedLongMap<>();
+
+  /**
+   * @param from first date of the window, or {@code null} for an open start
+   * @param to last date of the window, or {@code null} for an open end
+   * @param afterDate date returned with previous slice, or {@code null} to start from the beginning
+   * @param afterId id returned as position of previous slice
+   * @return ids ordered by date and id. Next position is the last returned id and next date is its date.
+   */
+  public DateSlice<Long> findIds(LocalDate from, LocalDate to, LocalDate afterDate, Long afterId, int limit) {
+    Key lowest = Objects.nonNull(afterDate) && Objects.nonNull(afterId)
+        ? new Key(afterDate.toEpochDay(), afterId)
+        : null;
+    if (Objects.nonNull(from) && (Objects.isNull(lowest) || lowest.day < from.toEpochDay())) {
+      lowest = new Key(from.toEpochDay(), Long.MIN_VALUE);
+    }
+    long lastDay = Objects.isNull(to) ? Long.MAX_VALUE : to.toEpochDay();
+
+    NavigableSet<Key> tail = Objects.isNull(lowest) ? keys : keys.tailSet(lowest, false);
+    Iterator<Key> iterator = tail.iterator();
+    List<Long> ids = new ArrayList<>(limit);
+    Key last = null;
+    while (ids.size() < limit && iterator.hasNext()) {
+      Key key = iterator.next();
+      if (key.day > lastDay) {
+        break;
+      }
+      ids.add(key.id);
+      last = key;
+    }
+
+    boolean hasNext = ids.size() == limit && iterator.hasNext() && iterator.next().day <= lastDay;
+    return hasNext
+        ? new DateSlice<>(ids, last.id, LocalDate.ofEpochDay(last.day))
+        : new DateSlice<>(ids, null, null);
+  }
+
+  @Override
+  public void onPut(long id, T entity) {
+    LocalDate date = keyExtractor.apply(entity);
+    Key key = Objects.isNull(date) ? null : new Key(date.toEpochDay(), id);
+    Key previousKey = Objects.isNull(key) ? keysById.remove(id) : keysById.put(id, key);
+
+    if (Objects.nonNull(key)) {
+      keys.add(key);
+    }
+    if (Objects.nonNull(previousKey) && (Objects.isNull(key) || previousKey.day != key.day)) {
+      keys.remove(previousKey);
+    }
+  }
+
+  @Override
+  public void onRemove(long id, T entity) {
+    Key previousKey = keysById.remove(id);
+    if (Objects.nonNull(previousKey)) {
+      keys.remove(previousKey);
+    }
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Key {
+
+    long day;
+    long id;
+  }
+}
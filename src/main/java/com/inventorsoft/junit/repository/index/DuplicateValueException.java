@@ -0,0 +1,11 @@
+package com.inventorsoft.junit.repository.index;
+
+/**
+ * Thrown when an entity is put with a value which another entity already uses in a {@link UniqueIndex}.
+ */
+public class DuplicateValueException extends RuntimeException {
+
+  public DuplicateValueException(String message) {
+    super(message);
+  }
+}
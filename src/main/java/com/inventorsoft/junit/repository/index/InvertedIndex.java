@@ -0,0 +1,317 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.store.StoreListener;
+import com.inventorsoft.junit.util.collection.LongIntHashMap;
+import com.inventorsoft.junit.util.collection.StripedLongMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * Full-text index over two string attributes of entity, a title and a body. Every term keeps its posting list,
+ * ids of entities containing the term with the term frequency, where an occurrence in the title counts
+ * {@link #TITLE_WEIGHT} times, and the length of the entity, so ranking reads nothing but posting lists. Terms of
+ * every indexed id are kept as well, since entities may be modified in place before they are saved and the old
+ * text can't be read from them.
+ * <p>
+ * Queries match entities containing all query terms. The shortest posting list gives candidates, others are only
+ * probed, so cost depends on the rarest term rather than on the size of the catalog. Matches are ranked by BM25.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class InvertedIndex<T> implements StoreListener<T> {
+
+  static final int TITLE_WEIGHT = 3;
+  static final double K1 = 1.2;
+  static final double B = 0.75;
+  static final int MAX_FREQUENCY = 0x7FFF;
+  static final int MAX_LENGTH = 0xFFFF;
+
+  TextAnalyzer analyzer;
+  Function<T, String> titleExtractor;
+  Function<T, String> bodyExtractor;
+
+  Map<String, Postings> postingsByTerm = new ConcurrentHashMap<>();
+  StripedLongMap<Document> documents = new StripedLongMap<>();
+  AtomicLong documentCount = new AtomicLong();
+  AtomicLong totalLength = new AtomicLong();
+
+  @Override
+  public void onPut(long id, T entity) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    analyzer.terms(titleExtractor.apply(entity)).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+    analyzer.terms(bodyExtractor.apply(entity)).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+    int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+    Document previous = documents.get(id);
+    if (Objects.nonNull(previous)) {
+      for (String term : previous.terms) {
+        if (!frequencies.containsKey(term)) {
+          removePosting(term, id);
+        }
+      }
+    }
+    frequencies.forEach((term, frequency) -> addPosting(term, id, posting(frequency, length)));
+
+    documents.put(id, new Document(frequencies.keySet().toArray(String[]::new), length));
+    if (Objects.isNull(previous)) {
+      documentCount.incrementAndGet();
+      totalLength.addAndGet(length);
+    } else {
+      totalLength.addAndGet(length - previous.length);
+    }
+  }
+
+  @Override
+  public void onRemove(long id, T entity) {
+    Document previous = documents.remove(id);
+    if (Objects.nonNull(previous)) {
+      for (String term : previous.terms) {
+        removePosting(term, id);
+      }
+      documentCount.decrementAndGet();
+      totalLength.addAndGet(-previous.length);
+    }
+  }
+
+  /**
+   * @return ids of matching entities, best first, starting at {@code offset}. Next position is the offset of the
+   *     next page.
+   */
+  public Slice<Long> search(String query, long offset, int limit) {
+    if (offset < 0 || limit < 1 || offset > Integer.MAX_VALUE - limit) {
+      throw new IllegalArgumentException("Invalid page of search results, offset: " + offset + ", limit: " + limit);
+    }
+
+    Set<String> terms = new LinkedHashSet<>(analyzer.terms(query));
+    List<Postings> postingLists = new ArrayList<>();
+    for (String term : terms) {
+      Postings postings = postingsByTerm.get(term);
+      if (Objects.isNull(postings)) {
+        return new Slice<>(List.of(), null);
+      }
+      postingLists.add(postings);
+    }
+    if (postingLists.isEmpty()) {
+      return new Slice<>(List.of(), null);
+    }
+    postingLists.sort(Comparator.comparingInt(Postings::size));
+
+    Candidates candidates = postingLists.get(0).candidates(postingLists.size());
+    for (int term = 1; term < postingLists.size(); term++) {
+      postingLists.get(term).probe(candidates, term);
+    }
+
+    return rank(candidates, postingLists, offset, limit);
+  }
+
+  private Slice<Long> rank(Candidates candidates, List<Postings> postingLists, long offset, int limit) {
+    double averageLength = Math.max(1.0, (double) totalLength.get() / Math.max(1L, documentCount.get()));
+    double[] idf = postingLists.stream().mapToDouble(postings -> idf(postings.size())).toArray();
+
+    long wanted = offset + limit + 1;
+    PriorityQueue<ScoredId> top = new PriorityQueue<>(Comparator.comparingDouble((ScoredId hit) -> hit.score)
+        .thenComparingLong(hit -> -hit.id));
+
+    for (int candidate = 0; candidate < candidates.size; candidate++) {
+      if (!candidates.alive[candidate]) {
+        continue;
+      }
+
+      long id = candidates.ids[candidate];
+      double norm = K1 * (1 - B + B * candidates.lengths[candidate] / averageLength);
+      double score = 0;
+      for (int term = 0; term < idf.length; term++) {
+        int frequency = candidates.frequencies[term][candidate];
+        score += idf[term] * frequency * (K1 + 1) / (frequency + norm);
+      }
+
+      if (top.size() < wanted) {
+        top.add(new ScoredId(id, score));
+      } else if (score > top.peek().score || score == top.peek().score && id < top.peek().id) {
+        top.poll();
+        top.add(new ScoredId(id, score));
+      }
+    }
+
+    List<ScoredId> ranked = new ArrayList<>(top);
+    ranked.sort(Comparator.comparingDouble((ScoredId hit) -> -hit.score).thenComparingLong(hit -> hit.id));
+
+    boolean hasNext = ranked.size() > offset + limit;
+    List<Long> ids = ranked.stream()
+        .skip(offset)
+        .limit(limit)
+        .map(hit -> hit.id)
+        .toList();
+    return new Slice<>(ids, hasNext ? offset + limit : null);
+  }
+
+  private double idf(int documentFrequency) {
+    long count = documentCount.get();
+    return Math.log(1 + (count - documentFrequency + 0.5) / (documentFrequency + 0.5));
+  }
+
+  private static int posting(int frequency, int length) {
+    return Math.min(frequency, MAX_FREQUENCY) << 16 | Math.min(length, MAX_LENGTH);
+  }
+
+  private void addPosting(String term, long id, int posting) {
+    Postings postings = postingsByTerm.computeIfAbsent(term, key -> new Postings());
+    while (!postings.put(id, posting)) {
+      // emptied by a concurrent remove, unlink it and retry with a new list
+      postingsByTerm.remove(term, postings);
+      postings = postingsByTerm.computeIfAbsent(term, key -> new Postings());
+    }
+  }
+
+  private void removePosting(String term, long id) {
+    Postings postings = postingsByTerm.get(term);
+    if (Objects.nonNull(postings) && postings.remove(id)) {
+      postingsByTerm.remove(term, postings);
+    }
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Document {
+
+    String[] terms;
+    int length;
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class ScoredId {
+
+    long id;
+    double score;
+  }
+
+  /**
+   * Ids of the shortest posting list and frequencies of every query term for them, filled term by term.
+   */
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  private static final class Candidates {
+
+    long[] ids;
+    int[] lengths;
+    boolean[] alive;
+    int[][] frequencies;
+    int size;
+
+    Candidates(int capacity, int terms) {
+      ids = new long[capacity];
+      lengths = new int[capacity];
+      alive = new boolean[capacity];
+      frequencies = new int[terms][capacity];
+    }
+  }
+
+  /**
+   * Posting list of one term. A list which became empty is retired and never changed again, it is unlinked from
+   * {@link #postingsByTerm} afterwards. Waiting for the lock never happens inside a {@link ConcurrentHashMap} bin,
+   * which is a monitor and would pin a virtual thread to its carrier.
+   */
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Postings {
+
+    StampedLock lock = new StampedLock();
+    LongIntHashMap postings = new LongIntHashMap(4);
+    @NonFinal
+    boolean retired;
+
+    /**
+     * @return {@code false} when the list is retired and nothing was added
+     */
+    boolean put(long id, int posting) {
+      long stamp = lock.writeLock();
+      try {
+        if (retired) {
+          return false;
+        }
+        postings.put(id, posting);
+        return true;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * @return whether the list became empty and was retired
+     */
+    boolean remove(long id) {
+      long stamp = lock.writeLock();
+      try {
+        if (postings.remove(id) && postings.isEmpty()) {
+          retired = true;
+        }
+        return retired;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    int size() {
+      long stamp = lock.readLock();
+      try {
+        return postings.size();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    Candidates candidates(int terms) {
+      long stamp = lock.readLock();
+      try {
+        Candidates candidates = new Candidates(postings.size(), terms);
+        postings.forEach((id, posting) -> {
+          candidates.ids[candidates.size] = id;
+          candidates.lengths[candidates.size] = posting & MAX_LENGTH;
+          candidates.alive[candidates.size] = true;
+          candidates.frequencies[0][candidates.size] = posting >>> 16;
+          candidates.size++;
+        });
+        return candidates;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    void probe(Candidates candidates, int term) {
+      long stamp = lock.readLock();
+      try {
+        for (int candidate = 0; candidate < candidates.size; candidate++) {
+          if (!candidates.alive[candidate]) {
+            continue;
+          }
+
+          int posting = postings.get(candidates.ids[candidate], 0);
+          if (posting == 0) {
+            candidates.alive[candidate] = false;
+          } else {
+            candidates.frequencies[term][candidate] = posting >>> 16;
+          }
+        }
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.store.StoreListener;
+import com.inventorsoft.junit.util.collection.StripedLongMap;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Reverse index of a reference to another entity, such as the author of a book: for every referenced id keeps
+ * sorted ids of entities referencing it. Keeps the reference of every indexed id as well, since entities may be
+ * modified in place before they are saved and the old reference can't be read from them.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ReferenceIndex<T> implements StoreListener<T> {
+
+  Function<T, Long> referenceExtractor;
+
+  Map<Long, NavigableSet<Long>> idsByReference = new ConcurrentHashMap<>();
+  StripedLongMap<Long> referencesById = new StripedLongMap<>();
+
+  public boolean contains(long reference) {
+    return idsByReference.containsKey(reference);
+  }
+
+  /**
+   * @return ids referencing {@code reference} in ascending order, only ids greater than {@code after} when it is
+   *     given. Next position is the last returned id.
+   */
+  public Slice<Long> findIds(long reference, Long after, int limit) {
+    NavigableSet<Long> ids = idsByReference.get(reference);
+    if (Objects.isNull(ids)) {
+      return new Slice<>(List.of(), null);
+    }
+
+    Iterator<Long> tail = (Objects.isNull(after) ? ids : ids.tailSet(after, false)).iterator();
+    List<Long> content = new ArrayList<>(limit);
+    while (content.size() < limit && tail.hasNext()) {
+      content.add(tail.next());
+    }
+
+    Long nextPosition = tail.hasNext() ? content.get(content.size() - 1) : null;
+    return new Slice<>(content, nextPosition);
+  }
+
+  public List<Long> findAllIds(long reference) {
+    NavigableSet<Long> ids = idsByReference.get(reference);
+    return Objects.isNull(ids) ? List.of() : List.copyOf(ids);
+  }
+
+  @Override
+  public void onPut(long id, T entity) {
+    Long reference = referenceExtractor.apply(entity);
+    Long previousReference = referencesById.get(id);
+    if (Objects.equals(reference, previousReference)) {
+      return;
+    }
+
+    if (Objects.nonNull(previousReference)) {
+      removeId(previousReference, id);
+    }
+    if (Objects.nonNull(reference)) {
+      idsByReference.compute(reference, (key, ids) -> {
+        NavigableSet<Long> updatedIds = Objects.isNull(ids) ? new ConcurrentSkipListSet<>() : ids;
+        updatedIds.add(id);
+        return updatedIds;
+      });
+      referencesById.put(id, reference);
+    } else {
+      referencesById.remove(id);
+    }
+  }
+
+  @Override
+  public void onRemove(long id, T entity) {
+    Long previousReference = referencesById.remove(id);
+    if (Objects.nonNull(previousReference)) {
+      removeId(previousReference, id);
+    }
+  }
+
+  private void removeId(long reference, long id) {
+    idsByReference.computeIfPresent(reference, (key, ids) -> {
+      ids.remove(id);
+      return ids.isEmpty() ? null : ids;
+    });
+  }
+}
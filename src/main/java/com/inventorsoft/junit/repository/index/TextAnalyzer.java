@@ -0,0 +1,65 @@
+package com.inventorsoft.junit.repository.index;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Splits text into terms: runs of letters and digits, lower cased. Single letters are dropped. With stemming,
+ * English plurals are reduced to singular by the rules of S-stemmer, so {@code "stories"} and {@code "story"}
+ * are the same term. Documents and queries must be analyzed the same way.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class TextAnalyzer {
+
+  boolean stemming;
+
+  public List<String> terms(String text) {
+    List<String> terms = new ArrayList<>();
+    if (Objects.isNull(text)) {
+      return terms;
+    }
+
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean termChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (termChar && start < 0) {
+        start = i;
+      } else if (!termChar && start >= 0) {
+        addTerm(terms, text.substring(start, i));
+        start = -1;
+      }
+    }
+
+    return terms;
+  }
+
+  private void addTerm(List<String> terms, String token) {
+    if (token.length() == 1 && !Character.isDigit(token.charAt(0))) {
+      return;
+    }
+
+    String term = token.toLowerCase(Locale.ROOT);
+    terms.add(stemming ? stem(term) : term);
+  }
+
+  static String stem(String term) {
+    if (term.length() > 3 && term.endsWith("ies") && !term.endsWith("eies") && !term.endsWith("aies")) {
+      return term.substring(0, term.length() - 3) + "y";
+    }
+    if (term.length() > 2 && term.endsWith("es") && !term.endsWith("aes") && !term.endsWith("ees")
+        && !term.endsWith("oes")) {
+      return term.substring(0, term.length() - 1);
+    }
+    if (term.length() > 2 && term.endsWith("s") && !term.endsWith("us") && !term.endsWith("ss")) {
+      return term.substring(0, term.length() - 1);
+    }
+    return term;
+  }
+}
@@ -0,0 +1,97 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.repository.store.StoreListener;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Hash index over a string attribute of entity. Values are normalized (trimmed and optionally lower cased) before
+ * lookup, so {@code " Title"} and {@code "Title"} are the same key. Keeps the key of every indexed id as well,
+ * since entities may be modified in place before they are saved and the old key can't be read from them.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class UniqueIndex<T> implements StoreListener<T> {
+
+  Function<T, String> keyExtractor;
+  boolean caseInsensitive;
+
+  Map<String, Long> idsByKey = new ConcurrentHashMap<>();
+  Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+  public boolean contains(String value) {
+    return findId(value).isPresent();
+  }
+
+  public Optional<Long> findId(String value) {
+    String key = normalize(value);
+    if (Objects.isNull(key)) {
+      return Optional.empty();
+    }
+
+    return Optional.ofNullable(idsByKey.get(key));
+  }
+
+  @Override
+  public void onPut(long id, T entity) {
+    String key = normalize(keyExtractor.apply(entity));
+
+    if (Objects.nonNull(key)) {
+      Long ownerId = idsByKey.putIfAbsent(key, id);
+      if (Objects.nonNull(ownerId) && ownerId != id) {
+        throw new DuplicateValueException("Value is already used by entity with id " + ownerId + ": " + key);
+      }
+    }
+
+    String previousKey = Objects.isNull(key) ? keysById.remove(id) : keysById.put(id, key);
+    if (Objects.nonNull(previousKey) && !previousKey.equals(key)) {
+      idsByKey.remove(previousKey, id);
+    }
+  }
+
+  /**
+   * Takes the value over from the entity which holds it, that entity is restored with another value or removed
+   * later on.
+   */
+  @Override
+  public void onRestore(long id, T entity) {
+    String key = normalize(keyExtractor.apply(entity));
+
+    if (Objects.nonNull(key)) {
+      Long ownerId = idsByKey.put(key, id);
+      if (Objects.nonNull(ownerId) && ownerId != id) {
+        keysById.remove(ownerId, key);
+      }
+    }
+
+    String previousKey = Objects.isNull(key) ? keysById.remove(id) : keysById.put(id, key);
+    if (Objects.nonNull(previousKey) && !previousKey.equals(key)) {
+      idsByKey.remove(previousKey, id);
+    }
+  }
+
+  @Override
+  public void onRemove(long id, T entity) {
+    String key = keysById.remove(id);
+    if (Objects.nonNull(key)) {
+      idsByKey.remove(key, id);
+    }
+  }
+
+  public String normalize(String value) {
+    if (Objects.isNull(value)) {
+      return null;
+    }
+
+    String trimmed = value.trim();
+    return caseInsensitive ? trimmed.toLowerCase(Locale.ROOT) : trimmed;
+  }
+}
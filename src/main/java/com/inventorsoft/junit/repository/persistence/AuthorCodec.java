@@ -0,0 +1,29 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import com.inventorsoft.junit.model.Author;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class AuthorCodec implements EntityCodec<Author> {
+
+  @Override
+  public void write(Author author, DataOutput out) throws IOException {
+    EntityCodec.writeId(out, author.getId());
+    EntityCodec.writeString(out, author.getName());
+    EntityCodec.writeDate(out, author.getBirthday());
+    out.writeLong(author.getVersion());
+  }
+
+  @Override
+  public Author read(DataInput in) throws IOException {
+    Author author = new Author();
+    author.setId(EntityCodec.readId(in));
+    author.setName(EntityCodec.readString(in));
+    author.setBirthday(EntityCodec.readDate(in));
+    author.setVersion(in.readLong());
+
+    return author;
+  }
+}
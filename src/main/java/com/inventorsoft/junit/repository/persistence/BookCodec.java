@@ -0,0 +1,57 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Book keeps a copy of its author, so a book still has it after the author is deleted. While reading, author
+ * is looked up by id first so books share the instance kept by author repository.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookCodec implements EntityCodec<Book> {
+
+  AuthorCodec authorCodec = new AuthorCodec();
+  Function<Long, Optional<Author>> authorResolver;
+
+  @Override
+  public void write(Book book, DataOutput out) throws IOException {
+    EntityCodec.writeId(out, book.getId());
+    EntityCodec.writeString(out, book.getTitle());
+    EntityCodec.writeDate(out, book.getReleaseDate());
+    EntityCodec.writeString(out, book.getDescription());
+    out.writeLong(book.getVersion());
+
+    out.writeBoolean(Objects.nonNull(book.getAuthor()));
+    if (Objects.nonNull(book.getAuthor())) {
+      authorCodec.write(book.getAuthor(), out);
+    }
+  }
+
+  @Override
+  public Book read(DataInput in) throws IOException {
+    Book book = new Book();
+    book.setId(EntityCodec.readId(in));
+    book.setTitle(EntityCodec.readString(in));
+    book.setReleaseDate(EntityCodec.readDate(in));
+    book.setDescription(EntityCodec.readString(in));
+    book.setVersion(in.readLong());
+
+    if (in.readBoolean()) {
+      Author storedAuthor = authorCodec.read(in);
+      book.setAuthor(authorResolver.apply(storedAuthor.getId()).orElse(storedAuthor));
+    }
+
+    return book;
+  }
+}
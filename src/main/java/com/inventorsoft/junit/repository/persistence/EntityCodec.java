@@ -0,0 +1,77 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Compact binary form of entity, used by write-ahead log and snapshots.
+ */
+public interface EntityCodec<T> {
+
+  void write(T entity, DataOutput out) throws IOException;
+
+  T read(DataInput in) throws IOException;
+
+  default byte[] encode(T entity) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+      write(entity, new DataOutputStream(bytes));
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  default T decode(byte[] payload) throws IOException {
+    return read(new DataInputStream(new ByteArrayInputStream(payload)));
+  }
+
+  static void writeString(DataOutput out, String value) throws IOException {
+    if (Objects.isNull(value)) {
+      out.writeInt(-1);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static void writeDate(DataOutput out, LocalDate value) throws IOException {
+    out.writeLong(Objects.isNull(value) ? Long.MIN_VALUE : value.toEpochDay());
+  }
+
+  static LocalDate readDate(DataInput in) throws IOException {
+    long epochDay = in.readLong();
+    return epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  static void writeId(DataOutput out, Long id) throws IOException {
+    out.writeLong(Objects.isNull(id) ? Long.MIN_VALUE : id);
+  }
+
+  static Long readId(DataInput in) throws IOException {
+    long id = in.readLong();
+    return id == Long.MIN_VALUE ? null : id;
+  }
+}
@@ -0,0 +1,178 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import com.inventorsoft.junit.model.Identifiable;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.store.GroupCommit;
+import com.inventorsoft.junit.repository.store.StoreJournal;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Durable journal of one repository: write-ahead log of changes plus periodic snapshot of all entities.
+ * <p>
+ * Snapshot is taken without stopping writers: log is rotated first, then entities are written as they are at the
+ * moment of reading. Every change up to the rotation point is already visible to the snapshot, changes after it
+ * are replayed from the log on recovery. Replay overwrites whole entities, so applying a change which the snapshot
+ * already contains is harmless.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class EntityJournal<T extends Identifiable> implements StoreJournal<T>, Closeable {
+
+  static final long SNAPSHOT_FORMAT = 0x4a554e4954534e32L;
+  static final byte[] NO_PAYLOAD = new byte[0];
+
+  Path directory;
+  String name;
+  EntityCodec<T> codec;
+  RepositoryProperties.Persistence settings;
+  ThreadLocal<long[]> lastLoggedLsn = ThreadLocal.withInitial(() -> new long[1]);
+
+  @NonFinal
+  WriteAheadLog wal;
+  @NonFinal
+  @Getter
+  long recoveredLastIssuedId = -1L;
+
+  public EntityJournal(Path directory, String name, EntityCodec<T> codec, RepositoryProperties.Persistence settings) {
+    this.directory = directory;
+    this.name = name;
+    this.codec = codec;
+    this.settings = settings;
+  }
+
+  /**
+   * Loads the latest snapshot, replays log after it and opens log for new changes. Must be called once, before
+   * the journal is attached to a store.
+   *
+   * @return recovered entities in insertion order
+   */
+  public List<T> recover() throws IOException {
+    Files.createDirectories(directory);
+
+    Map<Long, byte[]> payloads = new LinkedHashMap<>();
+    long snapshotLsn = readSnapshot(payloads);
+
+    long lastLsn = WriteAheadLog.replay(directory, name, snapshotLsn, record -> {
+      recoveredLastIssuedId = Math.max(recoveredLastIssuedId, record.getId());
+      if (record.getType() == WalRecord.PUT) {
+        payloads.put(record.getId(), record.getPayload());
+      } else {
+        payloads.remove(record.getId());
+      }
+    });
+
+    wal = new WriteAheadLog(directory, name, lastLsn, settings.getFsyncPolicy(), settings.getFsyncInterval());
+
+    List<T> entities = new ArrayList<>(payloads.size());
+    for (byte[] payload : payloads.values()) {
+      entities.add(codec.decode(payload));
+    }
+    return entities;
+  }
+
+  @Override
+  public void logPut(long id, T entity) {
+    lastLoggedLsn.get()[0] = wal.append(WalRecord.PUT, id, codec.encode(entity));
+  }
+
+  @Override
+  public void logRemove(long id) {
+    lastLoggedLsn.get()[0] = wal.append(WalRecord.REMOVE, id, NO_PAYLOAD);
+  }
+
+  @Override
+  public void awaitCommitted() {
+    if (!GroupCommit.defer(this)) {
+      wal.awaitDurable(lastLoggedLsn.get()[0]);
+    }
+  }
+
+  /**
+   * Writes snapshot of given entities and drops log segments covered by it.
+   *
+   * @param lastIssuedId supplies last id issued by repository, so ids of deleted entities are not reused
+   */
+  public void snapshot(Stream<T> entities, LongSupplier lastIssuedId) throws IOException {
+    long snapshotLsn = wal.rotate();
+    long issuedId = lastIssuedId.getAsLong();
+
+    Path snapshot = snapshotPath();
+    Path temporary = directory.resolve(name + ".snapshot.tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      out.writeLong(SNAPSHOT_FORMAT);
+      out.writeLong(snapshotLsn);
+      out.writeLong(issuedId);
+
+      Iterator<T> iterator = entities.iterator();
+      while (iterator.hasNext()) {
+        T entity = iterator.next();
+        byte[] payload = codec.encode(entity);
+        out.writeBoolean(true);
+        out.writeLong(entity.getId());
+        out.writeInt(payload.length);
+        out.write(payload);
+      }
+      out.writeBoolean(false);
+    }
+
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+      channel.force(true);
+    }
+    Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+    wal.deleteSegmentsUpTo(snapshotLsn);
+  }
+
+  @Override
+  public void close() throws IOException {
+    wal.close();
+  }
+
+  private long readSnapshot(Map<Long, byte[]> payloads) throws IOException {
+    Path snapshot = snapshotPath();
+    if (!Files.exists(snapshot)) {
+      return 0L;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+      if (in.readLong() != SNAPSHOT_FORMAT) {
+        throw new IOException("Unknown snapshot format: " + snapshot);
+      }
+      long snapshotLsn = in.readLong();
+      recoveredLastIssuedId = in.readLong();
+
+      while (in.readBoolean()) {
+        long id = in.readLong();
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        payloads.put(id, payload);
+      }
+      return snapshotLsn;
+    }
+  }
+
+  private Path snapshotPath() {
+    return directory.resolve(name + ".snapshot");
+  }
+}
@@ -0,0 +1,22 @@
+package com.inventorsoft.junit.repository.persistence;
+
+/**
+ * When write-ahead log forces written records to disk.
+ */
+public enum FsyncPolicy {
+
+  /**
+   * Every group of records written together is forced, writer waits until its record is on disk.
+   */
+  ALWAYS,
+
+  /**
+   * Every group of records written together is forced, writer doesn't wait for that.
+   */
+  BATCH,
+
+  /**
+   * Records are forced once per configured interval, writer doesn't wait for that.
+   */
+  INTERVAL
+}
@@ -0,0 +1,97 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.store.StorageType;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes repositories durable. At startup restores authors and then books (books refer to authors) from their
+ * journals, afterwards every change is logged and snapshots are taken periodically and on shutdown. Books kept
+ * in {@link StorageType#MAPPED} storage are durable by themselves and are not journaled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "repository.persistence.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PersistenceManager {
+
+  final RepositoryProperties properties;
+  final AuthorRepository authorRepository;
+  final BookRepository bookRepository;
+
+  EntityJournal<Author> authorJournal;
+  EntityJournal<Book> bookJournal;
+  ScheduledExecutorService snapshotScheduler;
+
+  @PostConstruct
+  public void start() throws IOException {
+    RepositoryProperties.Persistence settings = properties.getPersistence();
+    Path directory = Path.of(settings.getDirectory());
+
+    authorJournal = new EntityJournal<>(directory, "authors", new AuthorCodec(), settings);
+    authorRepository.restore(authorJournal.recover(), authorJournal.getRecoveredLastIssuedId());
+    authorRepository.addJournal(authorJournal);
+
+    if (properties.getBookStorage().getType() != StorageType.MAPPED) {
+      bookJournal = new EntityJournal<>(directory, "books", new BookCodec(authorRepository::findById), settings);
+      bookRepository.restore(bookJournal.recover(), bookJournal.getRecoveredLastIssuedId());
+      bookRepository.addJournal(bookJournal);
+    }
+
+    long snapshotInterval = settings.getSnapshotInterval().toMillis();
+    snapshotScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "repository-snapshot");
+      thread.setDaemon(true);
+      return thread;
+    });
+    snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval, snapshotInterval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  public void snapshot() throws IOException {
+    authorJournal.snapshot(authorRepository.streamAll(), authorRepository::lastIssuedId);
+    if (Objects.nonNull(bookJournal)) {
+      bookJournal.snapshot(bookRepository.streamAll(), bookRepository::lastIssuedId);
+    }
+  }
+
+  private void snapshotQuietly() {
+    try {
+      snapshot();
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to take snapshot of repositories", e);
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    snapshotScheduler.shutdown();
+    try {
+      snapshot();
+    } finally {
+      authorJournal.close();
+      if (Objects.nonNull(bookJournal)) {
+        bookJournal.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Record of write-ahead log. On disk it is {@code [body length][crc32 of body][body]}, where body is
+ * {@code [lsn][type][entity id][payload]}, so a record torn by crash is detected and ignored. Replication ships
+ * changes to followers in the same form.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class WalRecord {
+
+  public static final byte PUT = 1;
+  public static final byte REMOVE = 2;
+
+  static final int BODY_HEADER_SIZE = Long.BYTES + Byte.BYTES + Long.BYTES;
+  static final int MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+  long lsn;
+  byte type;
+  long id;
+  byte[] payload;
+
+  public ByteBuffer encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2 + BODY_HEADER_SIZE + payload.length);
+    buffer.putInt(BODY_HEADER_SIZE + payload.length);
+    buffer.putInt(0);
+    buffer.putLong(lsn);
+    buffer.put(type);
+    buffer.putLong(id);
+    buffer.put(payload);
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), Integer.BYTES * 2, BODY_HEADER_SIZE + payload.length);
+    buffer.putInt(Integer.BYTES, (int) crc.getValue());
+
+    return buffer.flip();
+  }
+
+  /**
+   * @return next record, or {@code null} at the end of log or at the first torn or corrupted record
+   */
+  public static WalRecord read(DataInput in) throws IOException {
+    try {
+      int bodySize = in.readInt();
+      int expectedCrc = in.readInt();
+      if (bodySize < BODY_HEADER_SIZE || bodySize > MAX_BODY_SIZE) {
+        return null;
+      }
+
+      byte[] body = new byte[bodySize];
+      in.readFully(body);
+
+      CRC32 crc = new CRC32();
+      crc.update(body);
+      if ((int) crc.getValue() != expectedCrc) {
+        return null;
+      }
+
+      ByteBuffer buffer = ByteBuffer.wrap(body);
+      long lsn = buffer.getLong();
+      byte type = buffer.get();
+      long id = buffer.getLong();
+      byte[] payload = new byte[buffer.remaining()];
+      buffer.get(payload);
+
+      return new WalRecord(lsn, type, id, payload);
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,384 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of changes, split into segments named {@code <name>-<first lsn>.wal}. Appending threads only
+ * put records into a queue; a single writer thread drains it and writes every drained group with one gathering
+ * write and, depending on {@link FsyncPolicy}, one {@link FileChannel#force(boolean)} (group commit).
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class WriteAheadLog implements Closeable {
+
+  static final int MAX_BATCH = 1024;
+  static final int QUEUE_CAPACITY = 64 * 1024;
+  static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  static final String SEGMENT_SUFFIX = ".wal";
+
+  Path directory;
+  String name;
+  FsyncPolicy fsyncPolicy;
+  long fsyncIntervalNanos;
+
+  BlockingQueue<Command> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  ReentrantLock appendLock = new ReentrantLock();
+  ReentrantLock durableLock = new ReentrantLock();
+  Condition durableChanged = durableLock.newCondition();
+  Thread writer;
+
+  @NonFinal
+  long lastLsn;
+  @NonFinal
+  volatile long durableLsn;
+  @NonFinal
+  volatile IOException failure;
+  @NonFinal
+  volatile boolean closed;
+
+  // state of the writer thread
+  @NonFinal
+  FileChannel channel;
+  @NonFinal
+  long writtenLsn;
+  @NonFinal
+  long lastForceNanos = System.nanoTime();
+
+  /**
+   * Opens a new segment after {@code lastLsn}, segments with records after it are left from a torn write and
+   * are deleted.
+   */
+  public WriteAheadLog(Path directory, String name, long lastLsn, FsyncPolicy fsyncPolicy, Duration fsyncInterval)
+      throws IOException {
+    this.directory = directory;
+    this.name = name;
+    this.fsyncPolicy = fsyncPolicy;
+    this.fsyncIntervalNanos = fsyncInterval.toNanos();
+    this.lastLsn = lastLsn;
+    this.durableLsn = lastLsn;
+    this.writtenLsn = lastLsn;
+
+    for (Segment segment : segments(directory, name)) {
+      if (segment.firstLsn > lastLsn) {
+        Files.delete(segment.path);
+      }
+    }
+    this.channel = openSegment(lastLsn + 1);
+
+    this.writer = new Thread(this::runWriter, name + "-wal-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * @return log sequence number of appended record
+   */
+  public long append(byte type, long id, byte[] payload) {
+    checkNotFailed();
+
+    appendLock.lock();
+    try {
+      // checked under the lock, close() sets the flag under it as well, so the writer drains every queued record
+      checkNotClosed();
+      long lsn = ++lastLsn;
+      enqueue(new Command(new WalRecord(lsn, type, id, payload), null));
+      return lsn;
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until record with given lsn is forced to disk. Returns immediately unless policy is
+   * {@link FsyncPolicy#ALWAYS}.
+   */
+  public void awaitDurable(long lsn) {
+    if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+      return;
+    }
+
+    durableLock.lock();
+    try {
+      while (durableLsn < lsn) {
+        checkNotFailed();
+        durableChanged.awaitUninterruptibly();
+      }
+    } finally {
+      durableLock.unlock();
+    }
+  }
+
+  /**
+   * Forces records appended so far and starts a new segment.
+   *
+   * @return lsn of the last record in previous segments
+   */
+  public long rotate() throws IOException {
+    CompletableFuture<Long> rotation = new CompletableFuture<>();
+    appendLock.lock();
+    try {
+      checkNotClosed();
+      enqueue(new Command(null, rotation));
+    } finally {
+      appendLock.unlock();
+    }
+
+    try {
+      return rotation.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while rotating write-ahead log: " + name, e);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to rotate write-ahead log: " + name, e.getCause());
+    }
+  }
+
+  /**
+   * Deletes segments which contain only records up to given lsn, i.e. which are covered by a snapshot.
+   */
+  public void deleteSegmentsUpTo(long lsn) throws IOException {
+    List<Segment> segments = segments(directory, name);
+    for (int i = 0; i + 1 < segments.size(); i++) {
+      if (segments.get(i + 1).firstLsn <= lsn + 1) {
+        Files.delete(segments.get(i).path);
+      }
+    }
+  }
+
+  /**
+   * Reads records with lsn greater than {@code afterLsn} in order, until the end of log or the first torn record.
+   *
+   * @return lsn of the last valid record, or {@code afterLsn} when there are no records after it
+   */
+  public static long replay(Path directory, String name, long afterLsn, Consumer<WalRecord> consumer)
+      throws IOException {
+    long lastLsn = afterLsn;
+    for (Segment segment : segments(directory, name)) {
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path)))) {
+        WalRecord record;
+        while ((record = WalRecord.read(in)) != null) {
+          if (record.getLsn() <= lastLsn) {
+            continue;
+          }
+          if (record.getLsn() != lastLsn + 1) {
+            return lastLsn;
+          }
+          consumer.accept(record);
+          lastLsn = record.getLsn();
+        }
+      }
+    }
+    return lastLsn;
+  }
+
+  @Override
+  public void close() throws IOException {
+    appendLock.lock();
+    try {
+      closed = true;
+    } finally {
+      appendLock.unlock();
+    }
+
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    channel.force(false);
+    channel.close();
+  }
+
+  /**
+   * Waits for space in the queue even when interrupted, a record with assigned lsn must not be lost, the interrupt
+   * is restored once the record is queued.
+   */
+  private void enqueue(Command command) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        queue.put(command);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runWriter() {
+    List<Command> batch = new ArrayList<>(MAX_BATCH);
+
+    while (!closed || !queue.isEmpty()) {
+      try {
+        Command first = queue.poll(pollTimeoutNanos(), TimeUnit.NANOSECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, MAX_BATCH - 1);
+        }
+
+        if (failure == null) {
+          write(batch);
+        } else {
+          rejectRotations(batch);
+        }
+      } catch (IOException e) {
+        fail(e);
+        rejectRotations(batch);
+      } catch (InterruptedException e) {
+        // writer stops only when the log is closed
+      }
+      batch.clear();
+    }
+  }
+
+  private long pollTimeoutNanos() {
+    if (fsyncPolicy != FsyncPolicy.INTERVAL || writtenLsn == durableLsn) {
+      return IDLE_POLL_NANOS;
+    }
+    return Math.max(0, lastForceNanos + fsyncIntervalNanos - System.nanoTime());
+  }
+
+  private void write(List<Command> batch) throws IOException {
+    List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+    for (Command command : batch) {
+      if (command.record != null) {
+        buffers.add(command.record.encode());
+        writtenLsn = command.record.getLsn();
+      } else {
+        writeFully(buffers);
+        force();
+        channel.close();
+        channel = openSegment(writtenLsn + 1);
+        command.rotation.complete(writtenLsn);
+      }
+    }
+    writeFully(buffers);
+
+    boolean forceDue = fsyncPolicy != FsyncPolicy.INTERVAL
+        || System.nanoTime() - lastForceNanos >= fsyncIntervalNanos;
+    if (forceDue && writtenLsn > durableLsn) {
+      force();
+    }
+  }
+
+  private void writeFully(List<ByteBuffer> buffers) throws IOException {
+    ByteBuffer[] sources = buffers.toArray(ByteBuffer[]::new);
+    long remaining = buffers.stream().mapToLong(ByteBuffer::remaining).sum();
+    while (remaining > 0) {
+      remaining -= channel.write(sources);
+    }
+    buffers.clear();
+  }
+
+  private void force() throws IOException {
+    channel.force(false);
+    lastForceNanos = System.nanoTime();
+
+    durableLock.lock();
+    try {
+      durableLsn = writtenLsn;
+      durableChanged.signalAll();
+    } finally {
+      durableLock.unlock();
+    }
+  }
+
+  private void fail(IOException e) {
+    durableLock.lock();
+    try {
+      failure = e;
+      durableChanged.signalAll();
+    } finally {
+      durableLock.unlock();
+    }
+  }
+
+  private void rejectRotations(List<Command> batch) {
+    batch.stream()
+        .filter(command -> command.rotation != null)
+        .forEach(command -> command.rotation.completeExceptionally(failure));
+  }
+
+  private void checkNotFailed() {
+    if (failure != null) {
+      throw new UncheckedIOException("Write-ahead log failed: " + name, failure);
+    }
+  }
+
+  private void checkNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("Write-ahead log is closed: " + name);
+    }
+  }
+
+  private FileChannel openSegment(long firstLsn) throws IOException {
+    Path path = directory.resolve(String.format("%s-%020d%s", name, firstLsn, SEGMENT_SUFFIX));
+    return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  private static List<Segment> segments(Path directory, String name) throws IOException {
+    String prefix = name + "-";
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> {
+            String fileName = path.getFileName().toString();
+            return fileName.startsWith(prefix) && fileName.endsWith(SEGMENT_SUFFIX);
+          })
+          .map(path -> {
+            String fileName = path.getFileName().toString();
+            String lsn = fileName.substring(prefix.length(), fileName.length() - SEGMENT_SUFFIX.length());
+            return new Segment(path, Long.parseLong(lsn));
+          })
+          .sorted(Comparator.comparingLong(segment -> segment.firstLsn))
+          .toList();
+    }
+  }
+
+  @RequiredArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Command {
+
+    WalRecord record;
+    CompletableFuture<Long> rotation;
+  }
+
+  @RequiredArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Segment {
+
+    Path path;
+    long firstLsn;
+  }
+}
@@ -0,0 +1,178 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.model.Identifiable;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.StoreRepository;
+import com.inventorsoft.junit.repository.persistence.AuthorCodec;
+import com.inventorsoft.junit.repository.persistence.BookCodec;
+import com.inventorsoft.junit.repository.persistence.EntityCodec;
+import com.inventorsoft.junit.repository.persistence.WalRecord;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps repositories of a follower equal to the leader's ones. Connects to the leader, replaces local entities
+ * with the received snapshot and then applies changes as they arrive. When the connection is lost it reconnects
+ * and loads the snapshot again. Reads on followers are eventually consistent.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "repository.replication.role", havingValue = "follower")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReplicationFollower {
+
+  static final int CONNECT_TIMEOUT_MILLIS = 5000;
+  static final int READ_TIMEOUT_MILLIS = 5 * (int) ReplicationLeader.HEARTBEAT_INTERVAL_MILLIS;
+
+  final RepositoryProperties properties;
+  final AuthorRepository authorRepository;
+  final BookRepository bookRepository;
+  final AuthorCodec authorCodec = new AuthorCodec();
+
+  BookCodec bookCodec;
+  Thread receiver;
+  volatile Socket connection;
+  volatile boolean synchronizedWithLeader;
+  volatile long appliedLsn;
+  volatile boolean closed;
+
+  @PostConstruct
+  public void start() {
+    closed = false;
+    bookCodec = new BookCodec(authorRepository::findById);
+    receiver = new Thread(this::receiveChanges, "replication-follower");
+    receiver.setDaemon(true);
+    receiver.start();
+  }
+
+  /**
+   * @return whether the snapshot of the leader is loaded and changes are being received
+   */
+  public boolean isSynchronized() {
+    return synchronizedWithLeader;
+  }
+
+  /**
+   * @return log sequence number of the last applied change of the leader
+   */
+  public long getAppliedLsn() {
+    return appliedLsn;
+  }
+
+  @PreDestroy
+  public void stop() throws IOException, InterruptedException {
+    closed = true;
+    receiver.interrupt();
+    Socket current = connection;
+    if (Objects.nonNull(current)) {
+      current.close();
+    }
+    receiver.join();
+  }
+
+  private void receiveChanges() {
+    RepositoryProperties.Replication settings = properties.getReplication();
+    InetSocketAddress leader = new InetSocketAddress(settings.getLeaderHost(), settings.getLeaderPort());
+
+    while (!closed) {
+      try (Socket socket = new Socket()) {
+        connection = socket;
+        socket.connect(leader, CONNECT_TIMEOUT_MILLIS);
+        socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeLong(ReplicationFrame.PROTOCOL);
+        out.flush();
+
+        receive(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+      } catch (IOException | RuntimeException e) {
+        if (!closed && synchronizedWithLeader) {
+          log.warn("Replication from leader {} failed, reconnecting: {}", leader, e.getMessage());
+        } else if (!closed) {
+          log.debug("Leader {} is not available: {}", leader, e.getMessage());
+        }
+      } finally {
+        synchronizedWithLeader = false;
+      }
+
+      try {
+        Thread.sleep(settings.getReconnectInterval().toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void receive(DataInputStream in) throws IOException {
+    Set<Long> snapshotAuthorIds = new HashSet<>();
+    Set<Long> snapshotBookIds = new HashSet<>();
+
+    while (!closed) {
+      ReplicationFrame frame = ReplicationFrame.read(in);
+      if (frame.getType() == ReplicationFrame.HEARTBEAT) {
+        continue;
+      }
+      if (frame.getType() == ReplicationFrame.SNAPSHOT_END) {
+        // entities deleted on the leader while this follower was disconnected
+        removeAllExcept(bookRepository, snapshotBookIds);
+        removeAllExcept(authorRepository, snapshotAuthorIds);
+        synchronizedWithLeader = true;
+        log.info("Synchronized with leader, {} authors and {} books", snapshotAuthorIds.size(),
+            snapshotBookIds.size());
+        continue;
+      }
+
+      WalRecord record = frame.getRecord();
+      if (frame.getRepository() == ReplicationFrame.AUTHORS) {
+        apply(authorRepository, authorCodec, record);
+        if (!synchronizedWithLeader) {
+          snapshotAuthorIds.add(record.getId());
+        }
+      } else {
+        apply(bookRepository, bookCodec, record);
+        if (!synchronizedWithLeader) {
+          snapshotBookIds.add(record.getId());
+        }
+      }
+      appliedLsn = Math.max(appliedLsn, record.getLsn());
+    }
+  }
+
+  private static <T extends Identifiable> void apply(StoreRepository<T> repository, EntityCodec<T> codec,
+                                                     WalRecord record) throws IOException {
+    if (record.getType() == WalRecord.PUT) {
+      repository.apply(codec.decode(record.getPayload()));
+    } else {
+      repository.deleteById(record.getId());
+    }
+  }
+
+  private static void removeAllExcept(StoreRepository<?> repository, Set<Long> ids) {
+    List<Long> removedIds = repository.streamAll()
+        .map(Identifiable::getId)
+        .filter(id -> !ids.contains(id))
+        .toList();
+    removedIds.forEach(repository::deleteById);
+  }
+}
@@ -0,0 +1,65 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.repository.persistence.WalRecord;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Unit of the replication protocol: {@code [repository][write-ahead log record]}. After connecting, the follower
+ * sends {@link #PROTOCOL}, the leader answers with every stored entity as a put record, then with
+ * {@link #SNAPSHOT_END} and then with every change as it happens. {@link #HEARTBEAT} is sent while nothing changes,
+ * so a follower notices a lost leader.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ReplicationFrame {
+
+  public static final long PROTOCOL = 0x4a554e4954524550L;
+
+  public static final byte AUTHORS = 1;
+  public static final byte BOOKS = 2;
+
+  public static final byte SNAPSHOT_END = 16;
+  public static final byte HEARTBEAT = 17;
+
+  static final byte[] NO_PAYLOAD = new byte[0];
+
+  byte repository;
+  WalRecord record;
+
+  public static ReplicationFrame control(byte type) {
+    return new ReplicationFrame((byte) 0, new WalRecord(0L, type, 0L, NO_PAYLOAD));
+  }
+
+  public byte getType() {
+    return record.getType();
+  }
+
+  public byte[] encode() {
+    ByteBuffer encodedRecord = record.encode();
+    byte[] frame = new byte[1 + encodedRecord.remaining()];
+    frame[0] = repository;
+    encodedRecord.get(frame, 1, encodedRecord.remaining());
+    return frame;
+  }
+
+  /**
+   * @throws java.io.EOFException when the connection is closed
+   */
+  public static ReplicationFrame read(DataInput in) throws IOException {
+    byte repository = in.readByte();
+    WalRecord record = WalRecord.read(in);
+    if (Objects.isNull(record)) {
+      throw new IOException("Corrupted replication record");
+    }
+    return new ReplicationFrame(repository, record);
+  }
+}
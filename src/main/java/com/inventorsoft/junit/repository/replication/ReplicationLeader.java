@@ -0,0 +1,171 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.model.Identifiable;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.persistence.AuthorCodec;
+import com.inventorsoft.junit.repository.persistence.BookCodec;
+import com.inventorsoft.junit.repository.persistence.EntityCodec;
+import com.inventorsoft.junit.repository.persistence.WalRecord;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Ships changes of repositories to followers over TCP. Every follower is served by its own thread: it is sent all
+ * stored entities first and then changes from its buffer in {@link ReplicationLog}, see {@link ReplicationFrame}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "repository.replication.role", havingValue = "leader")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReplicationLeader {
+
+  static final long HEARTBEAT_INTERVAL_MILLIS = 1000;
+
+  final RepositoryProperties properties;
+  final AuthorRepository authorRepository;
+  final BookRepository bookRepository;
+  final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+
+  ReplicationLog changeLog;
+  AuthorCodec authorCodec;
+  BookCodec bookCodec;
+  ServerSocket serverSocket;
+  volatile boolean closed;
+
+  @PostConstruct
+  public void start() throws IOException {
+    RepositoryProperties.Replication settings = properties.getReplication();
+    changeLog = new ReplicationLog(settings.getFollowerBufferSize());
+    authorCodec = new AuthorCodec();
+    bookCodec = new BookCodec(authorRepository::findById);
+
+    authorRepository.addJournal(changeLog.journal(ReplicationFrame.AUTHORS, authorCodec));
+    bookRepository.addJournal(changeLog.journal(ReplicationFrame.BOOKS, bookCodec));
+
+    serverSocket = new ServerSocket(settings.getPort());
+    Thread acceptor = new Thread(this::acceptFollowers, "replication-leader");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    log.info("Replication leader accepts followers on port {}", getPort());
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  public int followerCount() {
+    return changeLog.subscriberCount();
+  }
+
+  @PreDestroy
+  public void stop() throws IOException {
+    closed = true;
+    serverSocket.close();
+    for (Socket follower : followers) {
+      follower.close();
+    }
+  }
+
+  private void acceptFollowers() {
+    while (!closed) {
+      try {
+        Socket follower = serverSocket.accept();
+        followers.add(follower);
+        Thread session = new Thread(() -> serve(follower), "replication-session-" + follower.getPort());
+        session.setDaemon(true);
+        session.start();
+      } catch (IOException e) {
+        if (!closed) {
+          log.warn("Failed to accept follower", e);
+        }
+      }
+    }
+  }
+
+  private void serve(Socket follower) {
+    ReplicationLog.Subscriber subscriber = null;
+    try (follower) {
+      follower.setTcpNoDelay(true);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(follower.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(follower.getOutputStream()));
+      if (in.readLong() != ReplicationFrame.PROTOCOL) {
+        log.warn("Unknown replication protocol of {}", follower.getRemoteSocketAddress());
+        return;
+      }
+
+      subscriber = changeLog.subscribe();
+      sendSnapshot(out);
+      subscriber.startStreaming();
+      log.info("Follower {} is synchronized", follower.getRemoteSocketAddress());
+      sendChanges(subscriber, out);
+    } catch (IOException e) {
+      if (!closed) {
+        log.info("Follower {} disconnected: {}", follower.getRemoteSocketAddress(), e.getMessage());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (Objects.nonNull(subscriber)) {
+        changeLog.unsubscribe(subscriber);
+      }
+      followers.remove(follower);
+    }
+  }
+
+  private void sendSnapshot(DataOutputStream out) throws IOException {
+    sendEntities(ReplicationFrame.AUTHORS, authorRepository.streamAll(), authorCodec, out);
+    sendEntities(ReplicationFrame.BOOKS, bookRepository.streamAll(), bookCodec, out);
+    out.write(ReplicationFrame.control(ReplicationFrame.SNAPSHOT_END).encode());
+    out.flush();
+  }
+
+  private static <T extends Identifiable> void sendEntities(byte repository, Stream<T> entities,
+                                                            EntityCodec<T> codec, DataOutputStream out)
+      throws IOException {
+    Iterator<T> iterator = entities.iterator();
+    while (iterator.hasNext()) {
+      T entity = iterator.next();
+      WalRecord record = new WalRecord(0L, WalRecord.PUT, entity.getId(), codec.encode(entity));
+      out.write(new ReplicationFrame(repository, record).encode());
+    }
+  }
+
+  private void sendChanges(ReplicationLog.Subscriber subscriber, DataOutputStream out)
+      throws IOException, InterruptedException {
+    byte[] heartbeat = ReplicationFrame.control(ReplicationFrame.HEARTBEAT).encode();
+    while (!closed) {
+      byte[] frame = subscriber.poll(HEARTBEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      if (subscriber.isLagging()) {
+        throw new IOException("Follower can't keep up with changes");
+      }
+
+      out.write(Objects.isNull(frame) ? heartbeat : frame);
+      if (!subscriber.hasPending()) {
+        out.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.repository.persistence.EntityCodec;
+import com.inventorsoft.junit.repository.persistence.WalRecord;
+import com.inventorsoft.junit.repository.store.StoreJournal;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Leader side of replication: journals of repositories publish every change to a log shared by connected
+ * followers, in one order for all repositories, so a book never arrives before its author. Every follower reads
+ * the log from its own position. Publishing never blocks writers, a follower which falls more than the buffer size
+ * behind is marked as lagging and is disconnected by its session. Changes made while a follower is sent the stored
+ * entities are not counted, however long that takes, it reads them all afterwards.
+ * <p>
+ * A change gets its sequence number from an atomic counter while the store holds the lock of its id, so changes of
+ * one id are numbered in the order they happened. It is added to the log after the lock is released, in
+ * {@link StoreJournal#awaitCommitted()}, and is encoded by the sessions of followers, stored entities are never
+ * modified. Followers read the log strictly in sequence order and wait for a change which is numbered but not yet
+ * added.
+ * <p>
+ * A follower subscribes before it is sent the stored entities and reads changes numbered after that. Stores apply
+ * a change before it is journaled, so every change is either already visible to the follower's snapshot or is
+ * read from the log afterwards, and replaying a change which the snapshot already contains is harmless.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ReplicationLog {
+
+  static final long MISSING_CHANGE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  int bufferSize;
+  List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+  AtomicLong lastSequence = new AtomicLong();
+  ConcurrentSkipListMap<Long, Change<?>> changes = new ConcurrentSkipListMap<>();
+  ThreadLocal<List<Change<?>>> unpublishedChanges = ThreadLocal.withInitial(ArrayList::new);
+
+  public ReplicationLog(int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  public <T> StoreJournal<T> journal(byte repository, EntityCodec<T> codec) {
+    return new StoreJournal<>() {
+
+      @Override
+      public void logPut(long id, T entity) {
+        if (!subscribers.isEmpty()) {
+          unpublishedChanges.get().add(new Change<>(lastSequence.incrementAndGet(), repository, WalRecord.PUT, id,
+              entity, codec));
+        }
+      }
+
+      @Override
+      public void logRemove(long id) {
+        if (!subscribers.isEmpty()) {
+          unpublishedChanges.get().add(new Change<>(lastSequence.incrementAndGet(), repository, WalRecord.REMOVE,
+              id, null, codec));
+        }
+      }
+
+      @Override
+      public void awaitCommitted() {
+        // followers apply changes asynchronously, they only need to be published
+        publish();
+      }
+    };
+  }
+
+  public Subscriber subscribe() {
+    Subscriber subscriber = new Subscriber(lastSequence.get() + 1);
+    subscribers.add(subscriber);
+    return subscriber;
+  }
+
+  public void unsubscribe(Subscriber subscriber) {
+    subscribers.remove(subscriber);
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  private void publish() {
+    List<Change<?>> unpublished = unpublishedChanges.get();
+    if (unpublished.isEmpty()) {
+      return;
+    }
+
+    unpublished.forEach(change -> changes.put(change.sequence, change));
+    unpublished.clear();
+    subscribers.forEach(Subscriber::wakeUp);
+    trim();
+  }
+
+  /**
+   * Drops changes read by every follower which keeps up, followers which don't are marked as lagging.
+   */
+  private void trim() {
+    // read before positions, a follower subscribing meanwhile starts after it
+    long last = lastSequence.get();
+    long retainFrom = last + 1;
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.streaming && last - subscriber.position >= bufferSize) {
+        subscriber.lagging = true;
+      } else {
+        retainFrom = Math.min(retainFrom, subscriber.position);
+      }
+    }
+    changes.headMap(retainFrom).clear();
+  }
+
+  /**
+   * Position of one follower in the log.
+   */
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  public class Subscriber {
+
+    volatile long position;
+    volatile boolean streaming;
+    volatile boolean lagging;
+    volatile Thread reader;
+    long missingSince;
+
+    private Subscriber(long position) {
+      this.position = position;
+    }
+
+    /**
+     * @return next change as encoded frame, or {@code null} when nothing was published within the timeout
+     */
+    public byte[] poll(long timeout, TimeUnit unit) throws InterruptedException {
+      reader = Thread.currentThread();
+      long deadline = System.nanoTime() + unit.toNanos(timeout);
+      while (true) {
+        Change<?> change = changes.get(position);
+        if (Objects.nonNull(change)) {
+          position++;
+          missingSince = 0L;
+          return change.frame();
+        }
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          checkMissingChange();
+          return null;
+        }
+        LockSupport.parkNanos(this, remaining);
+      }
+    }
+
+    /**
+     * Marks the end of the snapshot, from now on the follower is disconnected when it falls behind.
+     */
+    public void startStreaming() {
+      streaming = true;
+    }
+
+    public boolean hasPending() {
+      return changes.containsKey(position);
+    }
+
+    public boolean isLagging() {
+      return lagging;
+    }
+
+    private void wakeUp() {
+      Thread currentReader = reader;
+      if (Objects.nonNull(currentReader)) {
+        LockSupport.unpark(currentReader);
+      }
+    }
+
+    /**
+     * A change which is numbered but not added for long was lost by a failed writer, the follower resynchronizes.
+     */
+    private void checkMissingChange() {
+      if (lastSequence.get() < position) {
+        missingSince = 0L;
+      } else if (missingSince == 0L) {
+        missingSince = System.nanoTime();
+      } else if (System.nanoTime() - missingSince > MISSING_CHANGE_TIMEOUT_NANOS) {
+        lagging = true;
+      }
+    }
+  }
+
+  @RequiredArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Change<T> {
+
+    long sequence;
+    byte repository;
+    byte type;
+    long id;
+    T entity;
+    EntityCodec<T> codec;
+
+    @NonFinal
+    volatile byte[] frame;
+
+    /**
+     * Encodes the change once, followers reading it at the same time may both encode it.
+     */
+    byte[] frame() {
+      byte[] encoded = frame;
+      if (Objects.isNull(encoded)) {
+        byte[] payload = type == WalRecord.PUT ? codec.encode(entity) : ReplicationFrame.NO_PAYLOAD;
+        encoded = new ReplicationFrame(repository, new WalRecord(sequence, type, id, payload)).encode();
+        frame = encoded;
+      }
+      return encoded;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.inventorsoft.junit.repository.replication;
+
+public enum ReplicationRole {
+
+  /**
+   * Repositories are private to the instance.
+   */
+  NONE,
+
+  /**
+   * Accepts writes and ships every change to followers.
+   */
+  LEADER,
+
+  /**
+   * Applies changes received from the leader, serves reads and forwards writes to the leader.
+   */
+  FOLLOWER
+}
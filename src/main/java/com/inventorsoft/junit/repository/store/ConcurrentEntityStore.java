@@ -0,0 +1,244 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.util.collection.StripedLongMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Thread safe store. Entities are indexed by a {@link StripedLongMap}, so ids are not boxed and lookups by id are
+ * optimistic and allocation free. Writes to the same id are serialized by the lock of its stripe, writes to ids of
+ * other stripes proceed in parallel. Insertion order is kept in a separate skip list, keyed by insertion sequence,
+ * which is updated under the same stripe lock, so both structures always agree.
+ * <p>
+ * A change is applied before it is journaled, as {@link StoreJournal} expects, and is undone, listeners included,
+ * when the journal fails to log it.
+ * <p>
+ * {@link #values()} builds an immutable list once and hands it out until the next write, writers only count
+ * started and finished writes, so a snapshot is cached only when no write overlapped building it.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ConcurrentEntityStore<T> implements EntityStore<T> {
+
+  StripedLongMap<Entry<T>> entries = new StripedLongMap<>();
+  ConcurrentSkipListMap<Long, Entry<T>> insertionOrder = new ConcurrentSkipListMap<>();
+  AtomicLong insertionSequence = new AtomicLong();
+  AtomicLong highestId = new AtomicLong(-1L);
+  List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+  AtomicLong writesStarted = new AtomicLong();
+  AtomicLong writesFinished = new AtomicLong();
+
+  @NonFinal
+  volatile ValuesSnapshot<T> valuesSnapshot;
+
+  @NonFinal
+  volatile StoreJournal<T> journal = StoreJournal.none();
+
+  @Override
+  public T get(long id) {
+    Entry<T> entry = entries.get(id);
+    return Objects.isNull(entry) ? null : entry.value;
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return entries.containsKey(id);
+  }
+
+  @Override
+  public List<T> values() {
+    ValuesSnapshot<T> snapshot = valuesSnapshot;
+    if (Objects.nonNull(snapshot) && snapshot.writes == writesStarted.get()) {
+      return snapshot.values;
+    }
+
+    long finished = writesFinished.get();
+    long started = writesStarted.get();
+    List<T> values = stream().toList();
+    if (finished == started && writesStarted.get() == started) {
+      valuesSnapshot = new ValuesSnapshot<>(started, values);
+    }
+    return values;
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return insertionOrder.values()
+        .stream()
+        .map(entry -> entry.value);
+  }
+
+  @Override
+  public Slice<T> slice(Long after, int limit) {
+    NavigableMap<Long, Entry<T>> tail = Objects.isNull(after) ? insertionOrder : insertionOrder.tailMap(after, false);
+
+    List<T> content = new ArrayList<>(limit);
+    Long lastPosition = null;
+    for (Entry<T> entry : tail.values()) {
+      if (content.size() == limit) {
+        return new Slice<>(content, lastPosition);
+      }
+      content.add(entry.value);
+      lastPosition = entry.sequence;
+    }
+
+    return new Slice<>(content, null);
+  }
+
+  @Override
+  public void put(long id, T entity) {
+    putIf(id, entity, current -> true);
+  }
+
+  @Override
+  public boolean putIf(long id, T entity, Predicate<? super T> condition) {
+    return put(id, entity, condition, false);
+  }
+
+  @Override
+  public void restore(long id, T entity) {
+    put(id, entity, current -> true, true);
+  }
+
+  private boolean put(long id, T entity, Predicate<? super T> condition, boolean restoring) {
+    StoreJournal<T> currentJournal = journal;
+    AtomicBoolean rejected = new AtomicBoolean();
+
+    writesStarted.incrementAndGet();
+    try {
+      entries.compute(id, (key, entry) -> {
+        if (!condition.test(Objects.isNull(entry) ? null : entry.value)) {
+          rejected.set(true);
+          return entry;
+        }
+        if (restoring) {
+          listeners.forEach(listener -> listener.onRestore(id, entity));
+        } else {
+          listeners.forEach(listener -> listener.onPut(id, entity));
+        }
+
+        Entry<T> updatedEntry = entry;
+        T previous = Objects.isNull(entry) ? null : entry.value;
+        if (Objects.isNull(updatedEntry)) {
+          updatedEntry = new Entry<>(insertionSequence.incrementAndGet(), entity);
+          insertionOrder.put(updatedEntry.sequence, updatedEntry);
+        } else {
+          updatedEntry.value = entity;
+        }
+
+        try {
+          currentJournal.logPut(id, entity);
+        } catch (RuntimeException | Error e) {
+          undoPut(id, entity, updatedEntry, previous);
+          throw e;
+        }
+        highestId.accumulateAndGet(id, Math::max);
+        return updatedEntry;
+      });
+    } finally {
+      writesFinished.incrementAndGet();
+    }
+
+    if (rejected.get()) {
+      return false;
+    }
+    currentJournal.awaitCommitted();
+    return true;
+  }
+
+  @Override
+  public T remove(long id) {
+    StoreJournal<T> currentJournal = journal;
+    AtomicReference<T> removed = new AtomicReference<>();
+
+    writesStarted.incrementAndGet();
+    try {
+      entries.computeIfPresent(id, (key, entry) -> {
+        listeners.forEach(listener -> listener.onRemove(id, entry.value));
+        insertionOrder.remove(entry.sequence);
+
+        try {
+          currentJournal.logRemove(id);
+        } catch (RuntimeException | Error e) {
+          insertionOrder.put(entry.sequence, entry);
+          listeners.forEach(listener -> listener.onRestore(id, entry.value));
+          throw e;
+        }
+        removed.set(entry.value);
+        return null;
+      });
+    } finally {
+      writesFinished.incrementAndGet();
+    }
+
+    if (Objects.nonNull(removed.get())) {
+      currentJournal.awaitCommitted();
+    }
+    return removed.get();
+  }
+
+  /**
+   * Reverts a put which the journal failed to log, listeners take the previous entity back, which they can't
+   * reject.
+   */
+  private void undoPut(long id, T entity, Entry<T> entry, T previous) {
+    if (Objects.isNull(previous)) {
+      insertionOrder.remove(entry.sequence);
+      listeners.forEach(listener -> listener.onRemove(id, entity));
+    } else {
+      entry.value = previous;
+      listeners.forEach(listener -> listener.onRestore(id, previous));
+    }
+  }
+
+  @Override
+  public long size() {
+    return entries.size();
+  }
+
+  @Override
+  public long highestId() {
+    return highestId.get();
+  }
+
+  @Override
+  public void setJournal(StoreJournal<T> journal) {
+    this.journal = journal;
+  }
+
+  @Override
+  public void addListener(StoreListener<T> listener) {
+    listeners.add(listener);
+    entries.forEach((id, entry) -> listener.onPut(id, entry.value));
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class ValuesSnapshot<T> {
+
+    long writes;
+    List<T> values;
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  private static final class Entry<T> {
+
+    final long sequence;
+    volatile T value;
+  }
+}
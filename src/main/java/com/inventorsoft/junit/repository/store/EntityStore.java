@@ -0,0 +1,75 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Storage engine behind in-memory repositories. Keeps entities by id and preserves insertion order.
+ */
+public interface EntityStore<T> {
+
+  T get(long id);
+
+  boolean contains(long id);
+
+  /**
+   * @return unmodifiable list of entities in insertion order
+   */
+  List<T> values();
+
+  /**
+   * @return lazy, weakly consistent stream of entities in insertion order
+   */
+  Stream<T> stream();
+
+  /**
+   * Returns at most {@code limit} entities which were inserted after the given position, costs O(log n + limit).
+   *
+   * @param after position from previous slice, or {@code null} to start from the first entity
+   */
+  Slice<T> slice(Long after, int limit);
+
+  void put(long id, T entity);
+
+  /**
+   * Same as {@link #put(long, Object)}, but only when the stored entity, {@code null} when there is none, matches
+   * the condition. The condition is checked under the same lock as the change is made, so it is a compare and set.
+   *
+   * @return whether the entity was put
+   */
+  boolean putIf(long id, T entity, Predicate<? super T> condition);
+
+  /**
+   * Same as {@link #put(long, Object)} for an entity accepted elsewhere, listeners are notified by
+   * {@link StoreListener#onRestore} and don't reject it.
+   */
+  void restore(long id, T entity);
+
+  /**
+   * @return removed entity or {@code null} when there was nothing stored by given id
+   */
+  T remove(long id);
+
+  long size();
+
+  /**
+   * @return the highest id ever put into the store, or -1 when nothing was put, so id generation can continue
+   *     after a store which keeps data between restarts is reopened
+   */
+  long highestId();
+
+  /**
+   * Registers listener which is notified about every following change and about entities stored already.
+   * Listeners are invoked in order of registration, so the ones which may reject a change should be registered
+   * first. Listeners are expected to be registered before the store is shared between threads.
+   */
+  void addListener(StoreListener<T> listener);
+
+  /**
+   * Replaces the journal which records following changes, by default changes are not recorded.
+   */
+  void setJournal(StoreJournal<T> journal);
+}
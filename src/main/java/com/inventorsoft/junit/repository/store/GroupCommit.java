@@ -0,0 +1,44 @@
+package com.inventorsoft.junit.repository.store;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Lets a thread make many changes and wait for them to be committed once. Within {@link #run(Runnable)} journals
+ * don't block in {@link StoreJournal#awaitCommitted()} but {@link #defer(StoreJournal)} to the end of the batch,
+ * where each of them is awaited once. Changes of one thread are committed in order, so waiting for the last one
+ * covers the others.
+ */
+@UtilityClass
+public class GroupCommit {
+
+  private final ThreadLocal<Set<StoreJournal<?>>> pendingJournals = new ThreadLocal<>();
+
+  public void run(Runnable batch) {
+    Set<StoreJournal<?>> journals = new LinkedHashSet<>();
+    pendingJournals.set(journals);
+    try {
+      batch.run();
+    } finally {
+      pendingJournals.remove();
+    }
+
+    journals.forEach(StoreJournal::awaitCommitted);
+  }
+
+  /**
+   * @return whether the current thread runs a batch and the journal is awaited at its end, so it shouldn't wait now
+   */
+  public boolean defer(StoreJournal<?> journal) {
+    Set<StoreJournal<?>> journals = pendingJournals.get();
+    if (Objects.isNull(journals)) {
+      return false;
+    }
+
+    journals.add(journal);
+    return true;
+  }
+}
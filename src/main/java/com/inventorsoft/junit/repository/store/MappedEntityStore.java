@@ -0,0 +1,469 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.persistence.EntityCodec;
+import com.inventorsoft.junit.util.collection.StripedLongMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Store which keeps entities off heap, in memory-mapped segment files {@code <name>-<number>.dat}, encoded with
+ * {@link EntityCodec}. Heap holds only the id to position index, entities are decoded on every read, so callers
+ * always get their own copy.
+ * <p>
+ * Records are appended, {@code [length][crc32][state][type][id][payload]}, and a removal appends a tombstone, so
+ * reopening the store replays segments to rebuild the index. Length is written when space is reserved, state is
+ * set to committed when the record is completely written, so replay skips records of appends which were aborted
+ * or never finished, and continues with the records after them. Replay of a segment ends at the first zero
+ * length, nothing was reserved after it, or at an invalid one, which leaves the extent of the rest unknown. Only
+ * the rest of the last segment is cleared, records appended there later never run into stale bytes. Space of
+ * overwritten records is not reclaimed. Data is written to the page cache and reaches disk when the OS flushes
+ * it or on {@link #close()}, so it survives restart of the application but not a crash of the machine.
+ * <p>
+ * Locking is the same as in {@link ConcurrentEntityStore}: changes of one id are serialized by the stripe lock
+ * of index map, space for records is reserved under a short allocation lock. A change which the journal fails to
+ * log is undone by appending the previous state again.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class MappedEntityStore<T> implements EntityStore<T>, Closeable {
+
+  static final byte PUT = 1;
+  static final byte REMOVE = 2;
+  static final byte COMMITTED = 1;
+  static final int CHECKSUM_OFFSET = Integer.BYTES;
+  static final int STATE_OFFSET = Integer.BYTES * 2;
+  static final int BODY_OFFSET = STATE_OFFSET + Byte.BYTES;
+  static final int HEADER_SIZE = BODY_OFFSET + Byte.BYTES + Long.BYTES;
+  static final String SEGMENT_SUFFIX = ".dat";
+
+  Path directory;
+  String name;
+  EntityCodec<T> codec;
+  int segmentSize;
+
+  StripedLongMap<Slot> slots = new StripedLongMap<>();
+  ConcurrentSkipListMap<Long, Slot> insertionOrder = new ConcurrentSkipListMap<>();
+  AtomicLong insertionSequence = new AtomicLong();
+  AtomicLong highestId = new AtomicLong(-1L);
+  List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+  List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+  ReentrantLock allocationLock = new ReentrantLock();
+
+  @NonFinal
+  int writeOffset;
+  @NonFinal
+  volatile StoreJournal<T> journal = StoreJournal.none();
+
+  public MappedEntityStore(Path directory, String name, EntityCodec<T> codec, int segmentSize) {
+    this.directory = directory;
+    this.name = name;
+    this.codec = codec;
+    this.segmentSize = segmentSize;
+
+    try {
+      Files.createDirectories(directory);
+      openSegments();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open store: " + directory.resolve(name), e);
+    }
+  }
+
+  @Override
+  public T get(long id) {
+    Slot slot = slots.get(id);
+    return Objects.isNull(slot) ? null : decode(slot.position);
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return slots.containsKey(id);
+  }
+
+  @Override
+  public List<T> values() {
+    return stream().toList();
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return insertionOrder.values()
+        .stream()
+        .map(slot -> decode(slot.position));
+  }
+
+  @Override
+  public Slice<T> slice(Long after, int limit) {
+    NavigableMap<Long, Slot> tail = Objects.isNull(after) ? insertionOrder : insertionOrder.tailMap(after, false);
+
+    List<T> content = new ArrayList<>(limit);
+    Long lastPosition = null;
+    for (Slot slot : tail.values()) {
+      if (content.size() == limit) {
+        return new Slice<>(content, lastPosition);
+      }
+      content.add(decode(slot.position));
+      lastPosition = slot.sequence;
+    }
+
+    return new Slice<>(content, null);
+  }
+
+  @Override
+  public void put(long id, T entity) {
+    put(id, entity, null, false);
+  }
+
+  /**
+   * Stored entity is decoded to check the condition, it costs a read of the segment.
+   */
+  @Override
+  public boolean putIf(long id, T entity, Predicate<? super T> condition) {
+    return put(id, entity, condition, false);
+  }
+
+  @Override
+  public void restore(long id, T entity) {
+    put(id, entity, null, true);
+  }
+
+  private boolean put(long id, T entity, Predicate<? super T> condition, boolean restoring) {
+    StoreJournal<T> currentJournal = journal;
+    byte[] payload = codec.encode(entity);
+    AtomicBoolean rejected = new AtomicBoolean();
+
+    slots.compute(id, (key, slot) -> {
+      if (Objects.nonNull(condition) && !condition.test(Objects.isNull(slot) ? null : decode(slot.position))) {
+        rejected.set(true);
+        return slot;
+      }
+      if (restoring) {
+        listeners.forEach(listener -> listener.onRestore(id, entity));
+      } else {
+        listeners.forEach(listener -> listener.onPut(id, entity));
+      }
+
+      long position = append(PUT, id, payload);
+      Slot updatedSlot = slot;
+      long previousPosition = Objects.isNull(slot) ? -1L : slot.position;
+      if (Objects.isNull(updatedSlot)) {
+        updatedSlot = new Slot(insertionSequence.incrementAndGet(), position);
+        insertionOrder.put(updatedSlot.sequence, updatedSlot);
+      } else {
+        updatedSlot.position = position;
+      }
+
+      try {
+        currentJournal.logPut(id, entity);
+      } catch (RuntimeException | Error e) {
+        undoPut(id, entity, updatedSlot, previousPosition);
+        throw e;
+      }
+      highestId.accumulateAndGet(id, Math::max);
+      return updatedSlot;
+    });
+
+    if (rejected.get()) {
+      return false;
+    }
+    currentJournal.awaitCommitted();
+    return true;
+  }
+
+  @Override
+  public T remove(long id) {
+    StoreJournal<T> currentJournal = journal;
+    AtomicReference<T> removed = new AtomicReference<>();
+
+    slots.computeIfPresent(id, (key, slot) -> {
+      T entity = decode(slot.position);
+      listeners.forEach(listener -> listener.onRemove(id, entity));
+
+      append(REMOVE, id, new byte[0]);
+      insertionOrder.remove(slot.sequence);
+
+      try {
+        currentJournal.logRemove(id);
+      } catch (RuntimeException | Error e) {
+        slot.position = append(PUT, id, payloadAt(slot.position));
+        insertionOrder.put(slot.sequence, slot);
+        listeners.forEach(listener -> listener.onRestore(id, entity));
+        throw e;
+      }
+      removed.set(entity);
+      return null;
+    });
+
+    if (Objects.nonNull(removed.get())) {
+      currentJournal.awaitCommitted();
+    }
+    return removed.get();
+  }
+
+  /**
+   * Reverts a put which the journal failed to log. The previous state is appended again, so replay ends with it,
+   * and listeners take the previous entity back, which they can't reject.
+   */
+  private void undoPut(long id, T entity, Slot slot, long previousPosition) {
+    if (previousPosition < 0) {
+      append(REMOVE, id, new byte[0]);
+      insertionOrder.remove(slot.sequence);
+      listeners.forEach(listener -> listener.onRemove(id, entity));
+    } else {
+      slot.position = append(PUT, id, payloadAt(previousPosition));
+      T previous = decode(slot.position);
+      listeners.forEach(listener -> listener.onRestore(id, previous));
+    }
+  }
+
+  @Override
+  public long size() {
+    return slots.size();
+  }
+
+  @Override
+  public long highestId() {
+    return highestId.get();
+  }
+
+  @Override
+  public void addListener(StoreListener<T> listener) {
+    listeners.add(listener);
+    slots.forEach((id, slot) -> listener.onPut(id, decode(slot.position)));
+  }
+
+  @Override
+  public void setJournal(StoreJournal<T> journal) {
+    this.journal = journal;
+  }
+
+  /**
+   * Forces written records to disk.
+   */
+  public void force() {
+    segments.forEach(MappedByteBuffer::force);
+  }
+
+  /**
+   * Forces and unmaps segments. The store must not be used afterwards, reads of an unmapped segment crash the JVM.
+   */
+  @Override
+  public void close() {
+    force();
+    segments.forEach(MappedEntityStore::unmap);
+    segments.clear();
+  }
+
+  private long append(byte type, long id, byte[] payload) {
+    int length = HEADER_SIZE + payload.length;
+    long position = allocate(length);
+    MappedByteBuffer segment = segments.get(segmentOf(position));
+    int offset = offsetOf(position);
+
+    segment.put(offset + BODY_OFFSET, type);
+    segment.putLong(offset + BODY_OFFSET + Byte.BYTES, id);
+    segment.put(offset + HEADER_SIZE, payload);
+    segment.putInt(offset + CHECKSUM_OFFSET, checksum(segment, offset, length));
+    // state is written last, replay skips a record which was not completely written
+    VarHandle.releaseFence();
+    segment.put(offset + STATE_OFFSET, COMMITTED);
+
+    return position;
+  }
+
+  private long allocate(int length) {
+    if (length > segmentSize) {
+      throw new IllegalArgumentException("Entity of " + length + " bytes doesn't fit into segment of "
+          + segmentSize + " bytes");
+    }
+
+    allocationLock.lock();
+    try {
+      if (writeOffset + length > segmentSize) {
+        mapSegment(segments.size());
+        writeOffset = 0;
+      }
+
+      long position = (long) (segments.size() - 1) << Integer.SIZE | writeOffset;
+      // length reserves the space, so replay can step over the record even if its append never finishes
+      segments.get(segments.size() - 1).putInt(writeOffset, length);
+      writeOffset += length;
+      return position;
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  private T decode(long position) {
+    try {
+      return codec.decode(payloadAt(position));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private byte[] payloadAt(long position) {
+    MappedByteBuffer segment = segments.get(segmentOf(position));
+    int offset = offsetOf(position);
+
+    byte[] payload = new byte[segment.getInt(offset) - HEADER_SIZE];
+    segment.get(offset + HEADER_SIZE, payload);
+    return payload;
+  }
+
+  private void openSegments() throws IOException {
+    int segmentNumber = 0;
+    while (Files.exists(segmentPath(segmentNumber))) {
+      mapSegment(segmentNumber);
+      writeOffset = replay(segments.get(segmentNumber), segmentNumber);
+      segmentNumber++;
+    }
+
+    if (!segments.isEmpty()) {
+      // appends continue there
+      clearFrom(segments.get(segments.size() - 1), writeOffset);
+    }
+
+    if (segments.isEmpty()) {
+      mapSegment(0);
+    }
+  }
+
+  /**
+   * @return offset after the last reserved record of segment
+   */
+  private int replay(MappedByteBuffer segment, int segmentNumber) {
+    int offset = 0;
+    while (offset + HEADER_SIZE <= segmentSize) {
+      int length = segment.getInt(offset);
+      if (length < HEADER_SIZE || offset + length > segmentSize) {
+        break;
+      }
+
+      if (segment.get(offset + STATE_OFFSET) == COMMITTED
+          && segment.getInt(offset + CHECKSUM_OFFSET) == checksum(segment, offset, length)) {
+        apply(segment, segmentNumber, offset);
+      }
+      offset += length;
+    }
+    return offset;
+  }
+
+  /**
+   * Applies the record to the index, records of unknown type are skipped.
+   */
+  private void apply(MappedByteBuffer segment, int segmentNumber, int offset) {
+    byte type = segment.get(offset + BODY_OFFSET);
+    long id = segment.getLong(offset + BODY_OFFSET + Byte.BYTES);
+    long position = (long) segmentNumber << Integer.SIZE | offset;
+
+    if (type == PUT) {
+      Slot slot = slots.get(id);
+      if (Objects.isNull(slot)) {
+        slot = new Slot(insertionSequence.incrementAndGet(), position);
+        slots.put(id, slot);
+        insertionOrder.put(slot.sequence, slot);
+      } else {
+        slot.position = position;
+      }
+    } else if (type == REMOVE) {
+      Slot slot = slots.remove(id);
+      if (Objects.nonNull(slot)) {
+        insertionOrder.remove(slot.sequence);
+      }
+    } else {
+      return;
+    }
+
+    highestId.accumulateAndGet(id, Math::max);
+  }
+
+  /**
+   * Zeroes bytes from given offset to the end of segment, only those which are set, so untouched pages of a
+   * sparse segment file stay unallocated.
+   */
+  private void clearFrom(MappedByteBuffer segment, int offset) {
+    for (int i = offset; i < segmentSize; i++) {
+      if (segment.get(i) != 0) {
+        segment.put(i, (byte) 0);
+      }
+    }
+  }
+
+  private static int checksum(MappedByteBuffer segment, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(segment.slice(offset + BODY_OFFSET, length - BODY_OFFSET));
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Releases the mapping now instead of when the buffer is collected, through {@code sun.misc.Unsafe}, which is
+   * the only way before Java 19.
+   */
+  private static void unmap(MappedByteBuffer segment) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), segment);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to unmap segment", e);
+    }
+  }
+
+  private void mapSegment(int segmentNumber) {
+    try (FileChannel channel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      segments.add(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to map segment " + segmentNumber + " of store " + name, e);
+    }
+  }
+
+  private Path segmentPath(int segmentNumber) {
+    return directory.resolve(String.format("%s-%06d%s", name, segmentNumber, SEGMENT_SUFFIX));
+  }
+
+  private static int segmentOf(long position) {
+    return (int) (position >>> Integer.SIZE);
+  }
+
+  private static int offsetOf(long position) {
+    return (int) position;
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(level = AccessLevel.PRIVATE)
+  private static final class Slot {
+
+    final long sequence;
+    volatile long position;
+  }
+}
@@ -0,0 +1,188 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Store partitioned by id for write heavy loads: entity {@code id} lives in partition {@code id % n}, every
+ * partition is an independent {@link ConcurrentEntityStore} with its own locks, insertion sequence and write
+ * counters, so writes to different partitions share no memory of the store. Together with
+ * {@link com.inventorsoft.junit.repository.id.ShardedIdGenerator} threads inserting new entities stay on their own
+ * partitions.
+ * <p>
+ * Reads of all entities gather partitions one after another, so entities are in insertion order within a partition
+ * only. Position of a slice holds the partition in its high bits and the position within the partition in the rest.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class ShardedEntityStore<T> implements EntityStore<T> {
+
+  static final int POSITION_BITS = 48;
+  static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+  List<ConcurrentEntityStore<T>> partitions;
+
+  @NonFinal
+  volatile CombinedValues<T> combinedValues;
+
+  public ShardedEntityStore(int partitions) {
+    if (partitions <= 0 || partitions > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Number of partitions is out of range: " + partitions);
+    }
+    this.partitions = IntStream.range(0, partitions)
+        .mapToObj(partition -> new ConcurrentEntityStore<T>())
+        .toList();
+  }
+
+  public int partitionCount() {
+    return partitions.size();
+  }
+
+  @Override
+  public T get(long id) {
+    return partitionOf(id).get(id);
+  }
+
+  @Override
+  public boolean contains(long id) {
+    return partitionOf(id).contains(id);
+  }
+
+  /**
+   * Concatenation of values of partitions, rebuilt only when some partition has changed since the last call.
+   */
+  @Override
+  public List<T> values() {
+    List<List<T>> parts = partitions.stream()
+        .map(ConcurrentEntityStore::values)
+        .toList();
+
+    CombinedValues<T> combined = combinedValues;
+    if (Objects.nonNull(combined) && combined.isBuiltOf(parts)) {
+      return combined.values;
+    }
+
+    List<T> values = parts.stream()
+        .flatMap(List::stream)
+        .toList();
+    combinedValues = new CombinedValues<>(parts, values);
+    return values;
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return partitions.stream()
+        .flatMap(ConcurrentEntityStore::stream);
+  }
+
+  @Override
+  public Slice<T> slice(Long after, int limit) {
+    int partition = Objects.isNull(after) ? 0 : (int) (after >>> POSITION_BITS);
+    Long position = Objects.isNull(after) ? null : after & POSITION_MASK;
+
+    List<T> content = new ArrayList<>(limit);
+    for (; partition < partitions.size(); partition++, position = null) {
+      Slice<T> part = partitions.get(partition).slice(position, limit - content.size());
+      content.addAll(part.getContent());
+
+      if (part.hasNext()) {
+        return new Slice<>(content, encodePosition(partition, part.getNextPosition()));
+      }
+      if (content.size() == limit) {
+        // the next page starts at the beginning of the next partition, unless nothing is left there
+        return new Slice<>(content, hasEntitiesAfter(partition) ? encodePosition(partition + 1, 0L) : null);
+      }
+    }
+
+    return new Slice<>(content, null);
+  }
+
+  @Override
+  public void put(long id, T entity) {
+    partitionOf(id).put(id, entity);
+  }
+
+  @Override
+  public boolean putIf(long id, T entity, Predicate<? super T> condition) {
+    return partitionOf(id).putIf(id, entity, condition);
+  }
+
+  @Override
+  public void restore(long id, T entity) {
+    partitionOf(id).restore(id, entity);
+  }
+
+  @Override
+  public T remove(long id) {
+    return partitionOf(id).remove(id);
+  }
+
+  @Override
+  public long size() {
+    return partitions.stream()
+        .mapToLong(ConcurrentEntityStore::size)
+        .sum();
+  }
+
+  @Override
+  public long highestId() {
+    return partitions.stream()
+        .mapToLong(ConcurrentEntityStore::highestId)
+        .max()
+        .orElse(-1L);
+  }
+
+  /**
+   * Listeners are shared by all partitions, so they are invoked concurrently for entities of different
+   * partitions and must be thread safe, as indexes are.
+   */
+  @Override
+  public void addListener(StoreListener<T> listener) {
+    partitions.forEach(partition -> partition.addListener(listener));
+  }
+
+  @Override
+  public void setJournal(StoreJournal<T> journal) {
+    partitions.forEach(partition -> partition.setJournal(journal));
+  }
+
+  private ConcurrentEntityStore<T> partitionOf(long id) {
+    return partitions.get((int) Math.floorMod(id, (long) partitions.size()));
+  }
+
+  private boolean hasEntitiesAfter(int partition) {
+    return partitions.subList(partition + 1, partitions.size())
+        .stream()
+        .anyMatch(next -> next.size() > 0);
+  }
+
+  private static long encodePosition(int partition, long position) {
+    return (long) partition << POSITION_BITS | position;
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class CombinedValues<T> {
+
+    List<List<T>> parts;
+    List<T> values;
+
+    boolean isBuiltOf(List<List<T>> otherParts) {
+      for (int i = 0; i < parts.size(); i++) {
+        if (parts.get(i) != otherParts.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.inventorsoft.junit.repository.store;
+
+public enum StorageType {
+
+  /**
+   * {@link ConcurrentEntityStore}
+   */
+  HEAP,
+
+  /**
+   * {@link MappedEntityStore}
+   */
+  MAPPED,
+
+  /**
+   * {@link ShardedEntityStore}
+   */
+  SHARDED
+}
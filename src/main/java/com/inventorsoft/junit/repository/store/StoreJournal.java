@@ -0,0 +1,75 @@
+package com.inventorsoft.junit.repository.store;
+
+/**
+ * Records changes of {@link EntityStore}, e.g. to make them durable. {@link #logPut} and {@link #logRemove} are
+ * invoked while the store holds the lock of given id, after the change is applied, so changes of one id are logged
+ * in the order they happened. {@link #awaitCommitted()} is invoked by the same thread after the lock is released.
+ */
+public interface StoreJournal<T> {
+
+  void logPut(long id, T entity);
+
+  void logRemove(long id);
+
+  /**
+   * Blocks until changes logged by the current thread are committed, if journal requires that.
+   */
+  void awaitCommitted();
+
+  /**
+   * @return journal which records every change in this journal and then in {@code next}
+   */
+  default StoreJournal<T> andThen(StoreJournal<T> next) {
+    StoreJournal<T> first = this;
+    return new StoreJournal<>() {
+
+      @Override
+      public void logPut(long id, T entity) {
+        first.logPut(id, entity);
+        next.logPut(id, entity);
+      }
+
+      @Override
+      public void logRemove(long id) {
+        first.logRemove(id);
+        next.logRemove(id);
+      }
+
+      @Override
+      public void awaitCommitted() {
+        // next journal still gets to finish changes it logged when the first one fails
+        try {
+          first.awaitCommitted();
+        } finally {
+          next.awaitCommitted();
+        }
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> StoreJournal<T> none() {
+    return (StoreJournal<T>) NoJournal.INSTANCE;
+  }
+
+  enum NoJournal implements StoreJournal<Object> {
+    INSTANCE;
+
+    @Override
+    public void logPut(long id, Object entity) {
+    }
+
+    @Override
+    public void logRemove(long id) {
+    }
+
+    @Override
+    public void awaitCommitted() {
+    }
+
+    @Override
+    public StoreJournal<Object> andThen(StoreJournal<Object> next) {
+      return next;
+    }
+  }
+}
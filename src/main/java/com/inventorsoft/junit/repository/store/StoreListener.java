@@ -0,0 +1,22 @@
+package com.inventorsoft.junit.repository.store;
+
+/**
+ * Keeps derived structures, like secondary indexes, in sync with {@link EntityStore}. Callbacks are invoked while
+ * the store holds the lock of given id, before the change becomes visible to readers. Exception thrown from
+ * {@link #onPut} rejects the change.
+ */
+public interface StoreListener<T> {
+
+  void onPut(long id, T entity);
+
+  /**
+   * Called instead of {@link #onPut} for an entity accepted elsewhere, restored from the journal or received from
+   * another instance, which can't be rejected. Such entities may arrive in another order than they were changed
+   * in, so a conflict with a stored entity is transient and the stored one is expected to change as well.
+   */
+  default void onRestore(long id, T entity) {
+    onPut(id, entity);
+  }
+
+  void onRemove(long id, T entity);
+}
@@ -0,0 +1,11 @@
+package com.inventorsoft.junit.service;
+
+/**
+ * Thrown when a client asked to delete an author who still has books without deleting the books too.
+ */
+public class AuthorHasBooksException extends RuntimeException {
+
+  public AuthorHasBooksException(String message) {
+    super(message);
+  }
+}
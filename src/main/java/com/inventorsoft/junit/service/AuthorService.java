@@ -2,16 +2,31 @@ package com.inventorsoft.junit.service;
 
 import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
 import com.inventorsoft.junit.dto.response.AuthorResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.BulkItemError;
+import com.inventorsoft.junit.dto.response.PageResponse;
 import com.inventorsoft.junit.mapper.AuthorMapper;
 import com.inventorsoft.junit.model.Author;
 import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.DateSlice;
+import com.inventorsoft.junit.repository.RejectedBatchItemException;
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.service.cache.AuthorJsonCache;
+import com.inventorsoft.junit.service.cache.JsonFragmentCache;
+import com.inventorsoft.junit.service.pipeline.AuthorLocks;
+import com.inventorsoft.junit.service.pipeline.WritePipeline;
+import com.inventorsoft.junit.util.pagination.DateCursor;
+import com.inventorsoft.junit.util.pagination.Pagination;
+import com.inventorsoft.junit.util.validation.AuthorBatchValidator;
+import com.inventorsoft.junit.util.validation.BatchSize;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 
 @Service
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
@@ -20,18 +35,74 @@ public class AuthorService {
 
   AuthorRepository authorRepository;
   AuthorMapper authorMapper;
+  AuthorBatchValidator authorBatchValidator;
+  AuthorJsonCache authorJsonCache;
+  BookService bookService;
+  AuthorLocks authorLocks;
+  WritePipeline writePipeline;
 
   public AuthorResponse getById(Long id) {
-    Optional<Author> optionalAuthor = authorRepository.findById(id);
-    return optionalAuthor
-        .map(authorMapper::mapEntityToResponse)
-        .orElseThrow(() -> new RuntimeException("Not found by id: " + id));
+    if (Objects.isNull(id)) {
+      throw new RuntimeException("Not found by id: " + id);
+    }
+    return getById(id.longValue());
+  }
+
+  public AuthorResponse getById(long id) {
+    return authorMapper.mapEntityToResponse(getAuthor(id));
+  }
+
+  /**
+   * Same as {@link #getById(long)}, but already rendered to JSON, unchanged authors are served from cache.
+   */
+  public byte[] getJsonById(long id) {
+    return authorJsonCache.get(getAuthor(id), authorMapper::mapEntityToResponse);
+  }
+
+  private Author getAuthor(long id) {
+    Author author = authorRepository.getOrNull(id);
+    if (Objects.isNull(author)) {
+      throw new RuntimeException("Not found by id: " + id);
+    }
+    return author;
   }
 
   public List<AuthorResponse> getAll() {
     return authorMapper.mapEntitiesToResponses(authorRepository.findAll());
   }
 
+  /**
+   * JSON array of all authors stitched from cached fragments.
+   */
+  public byte[] getAllJson() {
+    List<byte[]> fragments = authorRepository.streamAll()
+        .map(author -> authorJsonCache.get(author, authorMapper::mapEntityToResponse))
+        .toList();
+    return JsonFragmentCache.toJsonArray(fragments);
+  }
+
+  public PageResponse<AuthorResponse> getPage(String after, int limit) {
+    Slice<Author> slice = authorRepository.findAfter(Pagination.decodeCursor(after), Pagination.normalizeLimit(limit));
+
+    PageResponse<AuthorResponse> response = new PageResponse<>();
+    response.setItems(authorMapper.mapEntitiesToResponses(slice.getContent()));
+    response.setNextCursor(Pagination.encodeCursor(slice.getNextPosition()));
+
+    return response;
+  }
+
+  public PageResponse<AuthorResponse> getPageByBirthday(LocalDate from, LocalDate to, String after, int limit) {
+    DateCursor cursor = Pagination.decodeDateCursor(after);
+    DateSlice<Author> slice = authorRepository.findByBirthdayBetween(from, to, cursor.getDate(),
+        cursor.getPosition(), Pagination.normalizeLimit(limit));
+
+    PageResponse<AuthorResponse> response = new PageResponse<>();
+    response.setItems(authorMapper.mapEntitiesToResponses(slice.getContent()));
+    response.setNextCursor(Pagination.encodeDateCursor(slice.getNextDate(), slice.getNextPosition()));
+
+    return response;
+  }
+
   public Long create(CreateAuthorRequest request) {
     Author author = authorMapper.mapCreateRequestToEntity(request);
     Author savedAuthor = authorRepository.save(author);
@@ -39,7 +110,52 @@ public class AuthorService {
     return savedAuthor.getId();
   }
 
+  /**
+   * Creates all authors or none of them, ids are allocated in one block. A name taken by a concurrent writer after
+   * validation is reported as an error of its item.
+   */
+  public BulkCreateResponse createAll(List<CreateAuthorRequest> requests) {
+    BatchSize.check(requests);
+    BulkCreateResponse response = new BulkCreateResponse();
+
+    List<BulkItemError> errors = authorBatchValidator.validate(requests);
+    if (!errors.isEmpty()) {
+      response.setErrors(errors);
+      return response;
+    }
+
+    List<Author> authors = requests.stream()
+        .map(authorMapper::mapCreateRequestToEntity)
+        .toList();
+    try {
+      List<Author> savedAuthors = authorRepository.saveAll(authors);
+      response.setIds(savedAuthors.stream().map(Author::getId).toList());
+    } catch (RejectedBatchItemException e) {
+      response.setErrors(List.of(new BulkItemError(e.getIndex(), e.getMessage())));
+    }
+    return response;
+  }
+
   public void deleteById(Long id) {
-    authorRepository.deleteById(id);
+    deleteById(id, false);
+  }
+
+  /**
+   * Deletes the author together with their books when {@code cascade} is set, otherwise refuses to delete an
+   * author who still has books. Runs in {@link WritePipeline} under the exclusive lock of the author, so no book
+   * of the author is written meanwhile.
+   */
+  public void deleteById(Long id, boolean cascade) {
+    writePipeline.run(() -> authorLocks.exclusive(id, () -> {
+      if (cascade) {
+        bookService.deleteAllByAuthorId(id);
+      } else if (bookService.existsByAuthorId(id)) {
+        throw new AuthorHasBooksException("Author has books, id: " + id);
+      }
+
+      authorRepository.deleteById(id);
+      authorJsonCache.invalidate(id);
+      return null;
+    }));
   }
 }
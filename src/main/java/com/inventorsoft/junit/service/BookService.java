@@ -3,70 +3,342 @@ package com.inventorsoft.junit.service;
 import com.inventorsoft.junit.dto.request.CreateBookRequest;
 import com.inventorsoft.junit.dto.request.UpdateBookRequest;
 import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.BulkItemError;
+import com.inventorsoft.junit.dto.response.CacheStatsResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.BookFields;
 import com.inventorsoft.junit.mapper.BookMapper;
 import com.inventorsoft.junit.model.Author;
 import com.inventorsoft.junit.model.Book;
-import com.inventorsoft.junit.repository.AuthorRepository;
 import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.repository.DateSlice;
+import com.inventorsoft.junit.repository.RejectedBatchItemException;
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.service.cache.BookJsonCache;
+import com.inventorsoft.junit.service.cache.JsonFragmentCache;
+import com.inventorsoft.junit.service.cache.VersionedJson;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import com.inventorsoft.junit.service.pipeline.AuthorLocks;
+import com.inventorsoft.junit.service.pipeline.WritePipeline;
+import com.inventorsoft.junit.util.pagination.DateCursor;
+import com.inventorsoft.junit.util.pagination.Pagination;
+import com.inventorsoft.junit.util.validation.BatchSize;
+import com.inventorsoft.junit.util.validation.BookBatchValidator;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Changes of books run in {@link WritePipeline}, so they are applied one after another when it is enabled. Books
+ * are written under {@link AuthorLocks} of their authors, so they are never added to an author being deleted.
+ */
 @Service
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 public class BookService {
 
   BookRepository bookRepository;
-  AuthorRepository authorRepository;
+  AuthorLoader authorLoader;
   BookMapper bookMapper;
+  BookBatchValidator bookBatchValidator;
+  BookJsonCache bookJsonCache;
+  WritePipeline writePipeline;
+  AuthorLocks authorLocks;
 
+  /**
+   * Maps the book on every call, responses of GET /books/{id} are cached as JSON by {@link #getJsonById(long)}.
+   */
   public BookResponse getById(Long id) {
-    Optional<Book> optionalBook = bookRepository.findById(id);
-    return optionalBook
-        .map(bookMapper::mapEntityToResponse)
-        .orElseThrow(() -> new RuntimeException("Not found by id: " + id));
+    if (Objects.isNull(id)) {
+      throw new RuntimeException("Not found by id: " + id);
+    }
+    return getById(id.longValue());
+  }
+
+  public BookResponse getById(long id) {
+    return bookMapper.mapEntityToResponse(getBook(id));
+  }
+
+  /**
+   * Same as {@link #getById(long)}, but already rendered to JSON, unchanged books are served from cache.
+   */
+  public byte[] getJsonById(long id) {
+    return getVersionedJsonById(id).getJson();
+  }
+
+  public VersionedJson getVersionedJsonById(long id) {
+    Book book = getBook(id);
+    return new VersionedJson(book.getVersion(), bookJsonCache.get(book, bookMapper::mapEntityToResponse));
+  }
+
+  private Book getBook(long id) {
+    Book book = bookRepository.getOrNull(id);
+    if (Objects.isNull(book)) {
+      throw new RuntimeException("Not found by id: " + id);
+    }
+    return book;
   }
 
   public List<BookResponse> getAll() {
     return bookMapper.mapEntitiesToResponses(bookRepository.findAll());
   }
 
+  /**
+   * JSON array of all books stitched from cached fragments.
+   */
+  public byte[] getAllJson() {
+    List<byte[]> fragments = bookRepository.streamAll()
+        .map(book -> bookJsonCache.get(book, bookMapper::mapEntityToResponse))
+        .toList();
+    return JsonFragmentCache.toJsonArray(fragments);
+  }
+
+  /**
+   * Maps books one by one while the returned stream is consumed, nothing is materialized.
+   */
+  public Stream<BookResponse> streamAll() {
+    return streamAll(BookFields.ALL);
+  }
+
+  public Stream<BookResponse> streamAll(BookFields fields) {
+    return bookRepository.streamAll().map(book -> bookMapper.mapEntityToResponse(book, fields));
+  }
+
+  /**
+   * Only requested fields of all books, not cached as fragments of whole books are.
+   */
+  public List<BookResponse> getAll(BookFields fields) {
+    return bookMapper.mapEntitiesToResponses(bookRepository.findAll(), fields);
+  }
+
+  public PageResponse<BookResponse> getPage(String after, int limit) {
+    return getPage(after, limit, BookFields.ALL);
+  }
+
+  public PageResponse<BookResponse> getPage(String after, int limit, BookFields fields) {
+    Slice<Book> slice = bookRepository.findAfter(Pagination.decodeCursor(after), Pagination.normalizeLimit(limit));
+
+    PageResponse<BookResponse> response = new PageResponse<>();
+    response.setItems(bookMapper.mapEntitiesToResponses(slice.getContent(), fields));
+    response.setNextCursor(Pagination.encodeCursor(slice.getNextPosition()));
+
+    return response;
+  }
+
+  public PageResponse<BookResponse> search(String query, String after, int limit) {
+    return search(query, after, limit, BookFields.ALL);
+  }
+
+  public PageResponse<BookResponse> search(String query, String after, int limit, BookFields fields) {
+    long offset = Pagination.decodeOffsetCursor(after);
+    Slice<Book> slice = bookRepository.search(query, offset, Pagination.normalizeSearchLimit(offset, limit));
+
+    PageResponse<BookResponse> response = new PageResponse<>();
+    response.setItems(bookMapper.mapEntitiesToResponses(slice.getContent(), fields));
+    response.setNextCursor(Pagination.encodeOffsetCursor(slice.getNextPosition()));
+
+    return response;
+  }
+
+  public PageResponse<BookResponse> getPageByReleaseDate(LocalDate from, LocalDate to, String after, int limit) {
+    return getPageByReleaseDate(from, to, after, limit, BookFields.ALL);
+  }
+
+  public PageResponse<BookResponse> getPageByReleaseDate(LocalDate from, LocalDate to, String after, int limit,
+                                                         BookFields fields) {
+    DateCursor cursor = Pagination.decodeDateCursor(after);
+    DateSlice<Book> slice = bookRepository.findByReleaseDateBetween(from, to, cursor.getDate(), cursor.getPosition(),
+        Pagination.normalizeLimit(limit));
+
+    PageResponse<BookResponse> response = new PageResponse<>();
+    response.setItems(bookMapper.mapEntitiesToResponses(slice.getContent(), fields));
+    response.setNextCursor(Pagination.encodeDateCursor(slice.getNextDate(), slice.getNextPosition()));
+
+    return response;
+  }
+
+  public PageResponse<BookResponse> getPageByAuthorId(long authorId, String after, int limit) {
+    return getPageByAuthorId(authorId, after, limit, BookFields.ALL);
+  }
+
+  public PageResponse<BookResponse> getPageByAuthorId(long authorId, String after, int limit, BookFields fields) {
+    if (!authorLoader.exists(authorId)) {
+      throw new RuntimeException("Author not found by id: " + authorId);
+    }
+
+    Slice<Book> slice = bookRepository.findByAuthorId(authorId, Pagination.decodeCursor(after),
+        Pagination.normalizeLimit(limit));
+
+    PageResponse<BookResponse> response = new PageResponse<>();
+    response.setItems(bookMapper.mapEntitiesToResponses(slice.getContent(), fields));
+    response.setNextCursor(Pagination.encodeCursor(slice.getNextPosition()));
+
+    return response;
+  }
+
+  public boolean existsByAuthorId(long authorId) {
+    return bookRepository.existsByAuthorId(authorId);
+  }
+
   public Long create(CreateBookRequest createBookRequest) {
-    Book book = bookMapper.mapCreateRequestToEntity(createBookRequest);
-    Book savedBook = bookRepository.save(book);
-    return savedBook.getId();
+    return writePipeline.execute(() -> withAuthors(Collections.singleton(createBookRequest.getAuthorId()), () -> {
+      Book book = bookMapper.mapCreateRequestToEntity(createBookRequest);
+      Book savedBook = bookRepository.save(book);
+      return savedBook.getId();
+    }));
+  }
+
+  /**
+   * Creates all books or none of them. Authors of the batch are loaded once and ids are allocated in one block.
+   * A title taken by a concurrent writer after validation is reported as an error of its item.
+   */
+  public BulkCreateResponse createAll(List<CreateBookRequest> requests) {
+    BatchSize.check(requests);
+    Set<Long> authorIds = requests.stream()
+        .filter(Objects::nonNull)
+        .map(CreateBookRequest::getAuthorId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    return writePipeline.execute(() -> withAuthors(authorIds, () -> createAllNow(requests, authorIds)));
+  }
+
+  private BulkCreateResponse createAllNow(List<CreateBookRequest> requests, Set<Long> authorIds) {
+    Map<Long, Author> authors = authorLoader.loadAll(authorIds);
+
+    BulkCreateResponse response = new BulkCreateResponse();
+
+    List<BulkItemError> errors = bookBatchValidator.validate(requests, authors.keySet());
+    if (!errors.isEmpty()) {
+      response.setErrors(errors);
+      return response;
+    }
+
+    List<Book> books = requests.stream()
+        .map(request -> bookMapper.mapCreateRequestToEntity(request, authors.get(request.getAuthorId())))
+        .toList();
+    try {
+      List<Book> savedBooks = bookRepository.saveAll(books);
+      response.setIds(savedBooks.stream().map(Book::getId).toList());
+    } catch (RejectedBatchItemException e) {
+      response.setErrors(List.of(new BulkItemError(e.getIndex(), e.getMessage())));
+    }
+    return response;
   }
 
   public void update(Long id, UpdateBookRequest updateBookRequest) {
+    update(id, updateBookRequest, null);
+  }
+
+  /**
+   * Updates a copy of the stored book, so readers never see a partially updated one.
+   *
+   * @param expectedVersion version the client has seen, or {@code null} to update any version
+   * @return version of the updated book
+   */
+  public long update(Long id, UpdateBookRequest updateBookRequest, Long expectedVersion) {
+    return writePipeline.execute(() -> withAuthors(Collections.singleton(updateBookRequest.getAuthorId()),
+        () -> updateNow(id, updateBookRequest, expectedVersion)));
+  }
+
+  private long updateNow(Long id, UpdateBookRequest updateBookRequest, Long expectedVersion) {
     Book book = bookRepository.findById(id)
+        .map(Book::copy)
         .orElseThrow(() -> new RuntimeException("Book not found by id: " + id));
+    checkVersion(book, expectedVersion);
 
-    bookMapper.updateEntityFromUpdateRequest(book, updateBookRequest);
+    boolean titleUsedByOtherBook = bookRepository.findByTitle(updateBookRequest.getTitle())
+        .filter(other -> !other.getId().equals(id))
+        .isPresent();
+    if (titleUsedByOtherBook) {
+      throw new RuntimeException("Book already exists with title: " + updateBookRequest.getTitle());
+    }
 
-    bookRepository.save(book);
+    try {
+      bookMapper.updateEntityFromUpdateRequest(book, updateBookRequest);
+
+      return bookRepository.save(book).getVersion();
+    } finally {
+      bookJsonCache.invalidate(id);
+    }
   }
 
   public void changeAuthorForBook(Long bookId, Long newAuthorId) {
+    changeAuthorForBook(bookId, newAuthorId, null);
+  }
+
+  /**
+   * @param expectedVersion version the client has seen, or {@code null} to change any version
+   * @return version of the book after the change
+   */
+  public long changeAuthorForBook(Long bookId, Long newAuthorId, Long expectedVersion) {
+    return writePipeline.execute(() -> withAuthors(Collections.singleton(newAuthorId),
+        () -> changeAuthorForBookNow(bookId, newAuthorId, expectedVersion)));
+  }
+
+  private long changeAuthorForBookNow(Long bookId, Long newAuthorId, Long expectedVersion) {
     Book book = bookRepository.findById(bookId)
+        .map(Book::copy)
         .orElseThrow(() -> new RuntimeException("Book not found by id: " + bookId));
+    checkVersion(book, expectedVersion);
 
     boolean isNewAuthorNotEqualsToCurrent = !newAuthorId.equals(book.getAuthor().getId());
     if (isNewAuthorNotEqualsToCurrent) {
-      Author author = authorRepository.findById(newAuthorId)
+      Author author = authorLoader.load(newAuthorId)
           .orElseThrow(() -> new RuntimeException("Author not found by id: " + newAuthorId));
 
       book.setAuthor(author);
 
-      bookRepository.save(book);
+      try {
+        bookRepository.save(book);
+      } finally {
+        bookJsonCache.invalidate(bookId);
+      }
+    }
+    return book.getVersion();
+  }
+
+  /**
+   * Runs the write while none of the authors can be deleted, authors loaded before are checked to still exist.
+   */
+  private <T> T withAuthors(Collection<Long> authorIds, Supplier<T> write) {
+    return authorLocks.shared(authorIds, () -> {
+      authorLoader.recheck(authorIds);
+      return write.get();
+    });
+  }
+
+  private static void checkVersion(Book book, Long expectedVersion) {
+    if (Objects.nonNull(expectedVersion) && book.getVersion() != expectedVersion) {
+      throw new PreconditionFailedException("Book has version " + book.getVersion() + ", not " + expectedVersion
+          + ", id: " + book.getId());
     }
   }
 
   public void deleteById(Long id) {
-    bookRepository.deleteById(id);
+    writePipeline.run(() -> {
+      bookRepository.deleteById(id);
+      bookJsonCache.invalidate(id);
+    });
+  }
+
+  public void deleteAllByAuthorId(long authorId) {
+    bookRepository.findIdsByAuthorId(authorId).forEach(this::deleteById);
+  }
+
+  public CacheStatsResponse getCacheStats() {
+    return bookJsonCache.stats();
   }
 }
@@ -0,0 +1,11 @@
+package com.inventorsoft.junit.service;
+
+/**
+ * Thrown when a client asked to modify an entity only in the version it has seen, but the entity has another one.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,13 @@
+package com.inventorsoft.junit.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorsoft.junit.model.Author;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthorJsonCache extends JsonFragmentCache<Author> {
+
+  public AuthorJsonCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+    super(properties, objectMapper);
+  }
+}
@@ -0,0 +1,37 @@
+package com.inventorsoft.junit.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Books embed their author, so a fragment also follows version of the author. The version is read from
+ * {@link AuthorRepository}, the copy embedded into a book keeps the version the book was saved with.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class BookJsonCache extends JsonFragmentCache<Book> {
+
+  AuthorRepository authorRepository;
+
+  public BookJsonCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                       AuthorRepository authorRepository) {
+    super(properties, objectMapper);
+    this.authorRepository = authorRepository;
+  }
+
+  @Override
+  protected long dependencyVersionOf(Book book) {
+    if (Objects.isNull(book.getAuthor())) {
+      return 0L;
+    }
+    Author author = authorRepository.getOrNull(book.getAuthor().getId());
+    return Objects.isNull(author) ? 0L : author.getVersion();
+  }
+}
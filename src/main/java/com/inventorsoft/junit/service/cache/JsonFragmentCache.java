@@ -0,0 +1,158 @@
+package com.inventorsoft.junit.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.inventorsoft.junit.dto.response.CacheStatsResponse;
+import com.inventorsoft.junit.model.Identifiable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of entities rendered to JSON, evicted by size with W-TinyLFU policy of Caffeine and by age.
+ * <p>
+ * A fragment is stored together with the version of its entity, and of entities embedded into it, and is served
+ * only while these versions match, so a modified entity is rendered again without any invalidation. Explicit
+ * invalidation only releases memory early.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class JsonFragmentCache<T extends Identifiable> {
+
+  Cache<Long, Fragment> fragments;
+  ObjectMapper objectMapper;
+  LongAdder hits = new LongAdder();
+  LongAdder misses = new LongAdder();
+  LongAdder evictions = new LongAdder();
+
+  public JsonFragmentCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.fragments = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getExpireAfterWrite())
+        .evictionListener((Long id, Fragment fragment, RemovalCause cause) -> evictions.increment())
+        .build();
+  }
+
+  /**
+   * @return JSON of the entity, rendered from the response built by {@code mapper} when there is no fragment
+   *     for the current version
+   */
+  public byte[] get(T entity, Function<? super T, ?> mapper) {
+    long id = entity.getId();
+    long version = entity.getVersion();
+    long dependencyVersion = dependencyVersionOf(entity);
+
+    Fragment fragment = fragments.getIfPresent(id);
+    if (Objects.nonNull(fragment) && fragment.matches(version, dependencyVersion)) {
+      hits.increment();
+      return fragment.json;
+    }
+
+    misses.increment();
+    Fragment rendered = new Fragment(version, dependencyVersion, render(mapper.apply(entity)));
+    fragments.asMap().merge(id, rendered, (current, candidate) -> current.isNewerThan(candidate) ? current : candidate);
+
+    return rendered.json;
+  }
+
+  public void invalidate(long id) {
+    fragments.invalidate(id);
+  }
+
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  public long missCount() {
+    return misses.sum();
+  }
+
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  public long estimatedSize() {
+    return fragments.estimatedSize();
+  }
+
+  public CacheStatsResponse stats() {
+    long hitCount = hitCount();
+    long missCount = missCount();
+    long requestCount = hitCount + missCount;
+
+    CacheStatsResponse response = new CacheStatsResponse();
+    response.setSize(estimatedSize());
+    response.setHitCount(hitCount);
+    response.setMissCount(missCount);
+    response.setHitRate(requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+    response.setEvictionCount(evictionCount());
+
+    return response;
+  }
+
+  /**
+   * Joins fragments into a JSON array.
+   */
+  public static byte[] toJsonArray(List<byte[]> fragments) {
+    int length = 2 + Math.max(0, fragments.size() - 1);
+    for (byte[] fragment : fragments) {
+      length += fragment.length;
+    }
+
+    byte[] json = new byte[length];
+    int position = 0;
+    json[position++] = '[';
+    for (int i = 0; i < fragments.size(); i++) {
+      if (i > 0) {
+        json[position++] = ',';
+      }
+      byte[] fragment = fragments.get(i);
+      System.arraycopy(fragment, 0, json, position, fragment.length);
+      position += fragment.length;
+    }
+    json[position] = ']';
+
+    return json;
+  }
+
+  /**
+   * Version of entities embedded into the rendered entity, {@code 0} when there are none.
+   */
+  protected long dependencyVersionOf(T entity) {
+    return 0L;
+  }
+
+  private byte[] render(Object response) {
+    try {
+      return objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Failed to render JSON", e);
+    }
+  }
+
+  @AllArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Fragment {
+
+    long version;
+    long dependencyVersion;
+    byte[] json;
+
+    boolean matches(long entityVersion, long entityDependencyVersion) {
+      return version == entityVersion && dependencyVersion == entityDependencyVersion;
+    }
+
+    boolean isNewerThan(Fragment other) {
+      return version > other.version || version == other.version && dependencyVersion > other.dependencyVersion;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.inventorsoft.junit.service.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of response caches, bound from {@code response-cache.*} properties.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties("response-cache")
+public class ResponseCacheProperties {
+
+  /**
+   * Maximum amount of cached responses, {@code 0} disables caching.
+   */
+  long maximumSize = 10_000;
+
+  /**
+   * Time after which a cached response is dropped even if nothing invalidated it.
+   */
+  Duration expireAfterWrite = Duration.ofMinutes(10);
+}
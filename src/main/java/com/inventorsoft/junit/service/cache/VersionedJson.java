@@ -0,0 +1,18 @@
+package com.inventorsoft.junit.service.cache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * JSON of an entity together with the version it was rendered from.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class VersionedJson {
+
+  long version;
+  byte[] json;
+}
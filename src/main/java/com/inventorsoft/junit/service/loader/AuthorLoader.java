@@ -0,0 +1,107 @@
+package com.inventorsoft.junit.service.loader;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request scoped lookup of authors in the style of a DataLoader: authors are loaded once per request, ids needed
+ * together are resolved with one repository call, and results, missing authors included, are kept in attributes
+ * of the current request, so validation and mapping of the same request share them. Outside of a request every
+ * call goes to the repository.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class AuthorLoader {
+
+  static final String LOADED_AUTHORS = AuthorLoader.class.getName() + ".LOADED_AUTHORS";
+
+  AuthorRepository authorRepository;
+
+  public Optional<Author> load(Long id) {
+    if (Objects.isNull(id)) {
+      return Optional.empty();
+    }
+
+    Map<Long, Optional<Author>> loadedAuthors = loadedAuthors();
+    Optional<Author> author = loadedAuthors.get(id);
+    if (Objects.isNull(author)) {
+      author = authorRepository.findById(id.longValue());
+      loadedAuthors.put(id, author);
+    }
+    return author;
+  }
+
+  public boolean exists(Long id) {
+    return load(id).isPresent();
+  }
+
+  /**
+   * @return found authors by id, authors not loaded by this request yet are fetched with one repository call
+   */
+  public Map<Long, Author> loadAll(Collection<Long> ids) {
+    Map<Long, Optional<Author>> loadedAuthors = loadedAuthors();
+    List<Long> missingIds = ids.stream()
+        .filter(Objects::nonNull)
+        .filter(id -> !loadedAuthors.containsKey(id))
+        .distinct()
+        .toList();
+
+    if (!missingIds.isEmpty()) {
+      missingIds.forEach(id -> loadedAuthors.put(id, Optional.empty()));
+      authorRepository.findAllById(missingIds)
+          .forEach(author -> loadedAuthors.put(author.getId(), Optional.of(author)));
+    }
+
+    Map<Long, Author> authors = new HashMap<>();
+    for (Long id : ids) {
+      if (Objects.nonNull(id)) {
+        loadedAuthors.get(id).ifPresent(author -> authors.put(id, author));
+      }
+    }
+    return authors;
+  }
+
+  /**
+   * Checks whether authors loaded by this request still exist, or were created meanwhile when they were missing,
+   * with a lookup of the id only. Authors which are still there stay loaded.
+   */
+  public void recheck(Collection<Long> ids) {
+    Map<Long, Optional<Author>> loadedAuthors = loadedAuthors();
+    for (Long id : ids) {
+      Optional<Author> author = Objects.isNull(id) ? null : loadedAuthors.get(id);
+      if (Objects.nonNull(author) && author.isPresent() != authorRepository.existsById(id.longValue())) {
+        loadedAuthors.remove(id);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<Long, Optional<Author>> loadedAuthors() {
+    RequestAttributes request = RequestContextHolder.getRequestAttributes();
+    if (Objects.isNull(request)) {
+      return new HashMap<>();
+    }
+
+    Object loadedAuthors = request.getAttribute(LOADED_AUTHORS, RequestAttributes.SCOPE_REQUEST);
+    if (Objects.isNull(loadedAuthors)) {
+      loadedAuthors = new ConcurrentHashMap<Long, Optional<Author>>();
+      request.setAttribute(LOADED_AUTHORS, loadedAuthors, RequestAttributes.SCOPE_REQUEST);
+    }
+    return (Map<Long, Optional<Author>>) loadedAuthors;
+  }
+}
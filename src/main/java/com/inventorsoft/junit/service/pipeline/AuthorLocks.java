@@ -0,0 +1,76 @@
+package com.inventorsoft.junit.service.pipeline;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks of authors, which order deletion of an author with writes of their books when
+ * {@link WritePipeline} is disabled and writers run concurrently. Books of the same author are written under the
+ * shared lock together, the author is deleted under the exclusive one, so no book is added to an author being
+ * deleted. With the pipeline enabled both run on the writer thread and the locks are never contended.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class AuthorLocks {
+
+  static final int STRIPES = 64;
+
+  ReadWriteLock[] locks = new ReadWriteLock[STRIPES];
+
+  public AuthorLocks() {
+    for (int i = 0; i < STRIPES; i++) {
+      locks[i] = new ReentrantReadWriteLock();
+    }
+  }
+
+  /**
+   * Runs the action while none of the authors can be deleted, {@code null} ids are skipped.
+   */
+  public <T> T shared(Collection<Long> authorIds, Supplier<T> action) {
+    // stripes are always taken in the same order, so two writers of several authors never wait for each other
+    TreeSet<Integer> stripes = new TreeSet<>();
+    authorIds.stream()
+        .filter(Objects::nonNull)
+        .forEach(id -> stripes.add(stripe(id)));
+
+    Deque<Lock> acquired = new ArrayDeque<>(stripes.size());
+    try {
+      for (int stripe : stripes) {
+        Lock lock = locks[stripe].readLock();
+        lock.lock();
+        acquired.push(lock);
+      }
+      return action.get();
+    } finally {
+      acquired.forEach(Lock::unlock);
+    }
+  }
+
+  /**
+   * Runs the action while no books of the author are written.
+   */
+  public <T> T exclusive(long authorId, Supplier<T> action) {
+    Lock lock = locks[stripe(authorId)].writeLock();
+    lock.lock();
+    try {
+      return action.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static int stripe(long authorId) {
+    return Math.floorMod(Long.hashCode(authorId), STRIPES);
+  }
+}
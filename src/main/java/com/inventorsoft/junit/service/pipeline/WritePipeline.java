@@ -0,0 +1,231 @@
+package com.inventorsoft.junit.service.pipeline;
+
+import com.inventorsoft.junit.repository.store.GroupCommit;
+import com.inventorsoft.junit.util.collection.RingBuffer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Optional single writer of changes. Commands are put into a {@link RingBuffer} and applied one by one by the
+ * writer thread in the order they were submitted, so a command reads and changes state without interference of
+ * other writers. Commands taken from the buffer together form a batch, which waits for the write-ahead log once
+ * with {@link GroupCommit}, and callers are completed after that. Readers are not affected, they keep reading
+ * immutable snapshots from repositories.
+ * <p>
+ * When the pipeline is disabled, and for commands submitted by the writer itself, actions run on the calling
+ * thread. Commands submitted before {@link #stop()} are all applied, later submissions are refused.
+ * <p>
+ * The pipeline is stopped as a {@link SmartLifecycle} after the web server, and lifecycle beans are all stopped
+ * before any bean is destroyed, so journals closed on destruction have every applied command logged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WritePipeline implements SmartLifecycle {
+
+  static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  // the web server stops in phases just below the default one
+  static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2048;
+
+  final WritePipelineProperties properties;
+  // producers between the check of closed and publishing their command, the writer doesn't stop meanwhile
+  final AtomicInteger producers = new AtomicInteger();
+
+  RingBuffer<Command<?>> commands;
+  Thread writer;
+  volatile boolean writerIdle;
+  volatile boolean closed;
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled() || isEnabled()) {
+      return;
+    }
+
+    commands = new RingBuffer<>(properties.getBufferSize());
+    writer = new Thread(this::runWriter, "write-pipeline");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  public boolean isEnabled() {
+    return Objects.nonNull(writer);
+  }
+
+  /**
+   * @return future completed with the result of the action once it is applied and committed
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> action) {
+    if (!isEnabled() || Thread.currentThread() == writer) {
+      try {
+        return CompletableFuture.completedFuture(action.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    producers.incrementAndGet();
+    try {
+      if (closed) {
+        throw new IllegalStateException("Write pipeline is stopped");
+      }
+
+      Command<T> command = new Command<>(action);
+      commands.put(command);
+      if (writerIdle) {
+        LockSupport.unpark(writer);
+      }
+      return command.result;
+    } finally {
+      producers.decrementAndGet();
+    }
+  }
+
+  /**
+   * Applies the action and waits for it, exceptions of the action are rethrown as they are. The action sees
+   * attributes of the caller's request, which stays active meanwhile.
+   */
+  public <T> T execute(Supplier<T> action) {
+    if (!isEnabled() || Thread.currentThread() == writer) {
+      return action.get();
+    }
+
+    RequestAttributes request = RequestContextHolder.getRequestAttributes();
+    try {
+      return submit(() -> withRequest(request, action)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  public void run(Runnable action) {
+    execute(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  private static <T> T withRequest(RequestAttributes request, Supplier<T> action) {
+    RequestContextHolder.setRequestAttributes(request);
+    try {
+      return action.get();
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (!isRunning()) {
+      return;
+    }
+
+    closed = true;
+    LockSupport.unpark(writer);
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return isEnabled() && !closed;
+  }
+
+  @Override
+  public int getPhase() {
+    return PHASE;
+  }
+
+  private void runWriter() {
+    List<Command<?>> batch = new ArrayList<>(properties.getMaxBatch());
+
+    // producers are read before the buffer, so a command published by a producer seen here is drained below
+    while (!closed || producers.get() > 0 || commands.hasPublished()) {
+      if (commands.drainTo(batch, properties.getMaxBatch()) == 0) {
+        // producers see the flag before or after their command is visible here, so a wake up is never lost
+        writerIdle = true;
+        if (!commands.hasPublished() && !closed) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        writerIdle = false;
+        continue;
+      }
+
+      try {
+        apply(batch);
+      } catch (RuntimeException | Error e) {
+        // the writer must outlive any failure, callers would wait for it forever otherwise
+        log.error("Failed to complete batch of write pipeline", e);
+        batch.forEach(command -> command.result.completeExceptionally(e));
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private static void apply(List<Command<?>> batch) {
+    try {
+      GroupCommit.run(() -> batch.forEach(Command::apply));
+    } catch (RuntimeException | Error e) {
+      batch.forEach(command -> command.result.completeExceptionally(e));
+      return;
+    }
+
+    batch.forEach(Command::complete);
+  }
+
+  @RequiredArgsConstructor
+  @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+  private static final class Command<T> {
+
+    Supplier<T> action;
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    @NonFinal
+    T value;
+    @NonFinal
+    Throwable failure;
+
+    void apply() {
+      try {
+        value = action.get();
+      } catch (RuntimeException | Error e) {
+        failure = e;
+      }
+    }
+
+    void complete() {
+      if (Objects.isNull(failure)) {
+        result.complete(value);
+      } else {
+        result.completeExceptionally(failure);
+      }
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.inventorsoft.junit.service.pipeline;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of {@link WritePipeline}, bound from {@code write-pipeline.*} properties.
+ */
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties("write-pipeline")
+public class WritePipelineProperties {
+
+  /**
+   * Whether changes of books and deletion of authors are applied by a single writer thread, otherwise by request
+   * threads.
+   */
+  boolean enabled;
+
+  /**
+   * Commands waiting for the writer, a power of two. Callers wait while it is full.
+   */
+  int bufferSize = 1024;
+
+  /**
+   * Most commands applied and committed together.
+   */
+  int maxBatch = 256;
+}
@@ -0,0 +1,202 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Objects;
+
+/**
+ * Map with primitive {@code long} keys which iterates in insertion order. Keys and values are kept in dense
+ * arrays in insertion order, lookups go through an open addressing table with linear probing which holds indexes
+ * into these arrays, so an entry costs about 20 bytes plus the value and nothing is boxed. Removed entries leave
+ * a hole in the dense arrays until they are compacted on growth.
+ * <p>
+ * Not thread safe. {@link #get(long)} and {@link #containsKey(long)} never fail and always terminate on a
+ * concurrently modified map, so they may be used for optimistic reads which are validated afterwards.
+ * {@code null} values are not supported.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LongHashMap<V> {
+
+  static final int DEFAULT_CAPACITY = 16;
+
+  int[] table;
+  long[] keys;
+  Object[] values;
+  int used;
+  int size;
+
+  public LongHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LongHashMap(int expectedSize) {
+    int capacity = Math.max(DEFAULT_CAPACITY, expectedSize);
+    keys = new long[capacity];
+    values = new Object[capacity];
+    table = new int[tableSizeFor(capacity)];
+  }
+
+  public V get(long key) {
+    int[] currentTable = table;
+    long[] currentKeys = keys;
+    Object[] currentValues = values;
+
+    int mask = currentTable.length - 1;
+    int slot = hash(key) & mask;
+    for (int probe = 0; probe < currentTable.length; probe++) {
+      int index = currentTable[slot] - 1;
+      if (index < 0) {
+        return null;
+      }
+      if (index < currentKeys.length && index < currentValues.length && currentKeys[index] == key) {
+        return cast(currentValues[index]);
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  public boolean containsKey(long key) {
+    return Objects.nonNull(get(key));
+  }
+
+  /**
+   * @return previous value, or {@code null} when the key is new. New keys go to the end of iteration order,
+   *     existing keys keep their position.
+   */
+  public V put(long key, V value) {
+    Objects.requireNonNull(value, "value");
+
+    int slot = findSlot(key);
+    int index = table[slot] - 1;
+    if (index >= 0) {
+      V previous = cast(values[index]);
+      values[index] = value;
+      return previous;
+    }
+
+    if (used == keys.length) {
+      rebuild(size * 2 > keys.length ? keys.length * 2 : keys.length);
+      slot = findSlot(key);
+    }
+
+    keys[used] = key;
+    values[used] = value;
+    table[slot] = ++used;
+    size++;
+    return null;
+  }
+
+  /**
+   * @return removed value, or {@code null} when there was no such key
+   */
+  public V remove(long key) {
+    int slot = findSlot(key);
+    int index = table[slot] - 1;
+    if (index < 0) {
+      return null;
+    }
+
+    V removed = cast(values[index]);
+    values[index] = null;
+    size--;
+    deleteSlot(slot);
+
+    return removed;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void forEach(LongObjectConsumer<? super V> action) {
+    for (int index = 0; index < used; index++) {
+      Object value = values[index];
+      if (Objects.nonNull(value)) {
+        action.accept(keys[index], cast(value));
+      }
+    }
+  }
+
+  private int findSlot(long key) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Backward shift deletion, keeps probe sequences without tombstones.
+   */
+  private void deleteSlot(int slot) {
+    int mask = table.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+
+    while (table[next] != 0) {
+      int home = hash(keys[table[next] - 1]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        table[hole] = table[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    table[hole] = 0;
+  }
+
+  private void rebuild(int capacity) {
+    long[] newKeys = new long[capacity];
+    Object[] newValues = new Object[capacity];
+    int[] newTable = new int[tableSizeFor(capacity)];
+    int mask = newTable.length - 1;
+
+    int newUsed = 0;
+    for (int index = 0; index < used; index++) {
+      if (Objects.isNull(values[index])) {
+        continue;
+      }
+
+      newKeys[newUsed] = keys[index];
+      newValues[newUsed] = values[index];
+
+      int slot = hash(keys[index]) & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = ++newUsed;
+    }
+
+    keys = newKeys;
+    values = newValues;
+    table = newTable;
+    used = newUsed;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+  }
+
+  private static int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> V cast(Object value) {
+    return (V) value;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("{");
+    forEach((key, value) -> builder.append(builder.length() > 1 ? ", " : "").append(key).append('=').append(value));
+    return builder.append('}').toString();
+  }
+}
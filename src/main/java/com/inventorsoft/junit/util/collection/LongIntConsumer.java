@@ -0,0 +1,10 @@
+package com.inventorsoft.junit.util.collection;
+
+/**
+ * {@link java.util.function.BiConsumer} with a primitive {@code long} key and {@code int} value.
+ */
+@FunctionalInterface
+public interface LongIntConsumer {
+
+  void accept(long key, int value);
+}
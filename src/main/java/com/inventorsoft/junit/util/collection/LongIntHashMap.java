@@ -0,0 +1,160 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Unordered map of primitive {@code long} keys to primitive {@code int} values, an open addressing table with
+ * linear probing and backward shift deletion. An entry costs about 24 bytes and nothing is boxed. One key value
+ * marks free slots, an entry with this key is kept aside.
+ * <p>
+ * Not thread safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LongIntHashMap {
+
+  static final long FREE = 0L;
+  static final int DEFAULT_CAPACITY = 8;
+
+  long[] keys;
+  int[] values;
+  int size;
+  boolean hasFreeKey;
+  int freeKeyValue;
+
+  public LongIntHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize) * 2 - 1) * 2;
+    keys = new long[capacity];
+    values = new int[capacity];
+  }
+
+  /**
+   * @return value of the key, or {@code missingValue} when there is no such key
+   */
+  public int get(long key, int missingValue) {
+    if (key == FREE) {
+      return hasFreeKey ? freeKeyValue : missingValue;
+    }
+
+    int slot = findSlot(key);
+    return keys[slot] == FREE ? missingValue : values[slot];
+  }
+
+  public boolean containsKey(long key) {
+    return key == FREE ? hasFreeKey : keys[findSlot(key)] != FREE;
+  }
+
+  public void put(long key, int value) {
+    if (key == FREE) {
+      size += hasFreeKey ? 0 : 1;
+      hasFreeKey = true;
+      freeKeyValue = value;
+      return;
+    }
+
+    int slot = findSlot(key);
+    if (keys[slot] == FREE) {
+      if ((size + 1) * 2 > keys.length) {
+        resize(keys.length * 2);
+        slot = findSlot(key);
+      }
+      keys[slot] = key;
+      size++;
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * @return whether the key was present
+   */
+  public boolean remove(long key) {
+    if (key == FREE) {
+      boolean removed = hasFreeKey;
+      size -= removed ? 1 : 0;
+      hasFreeKey = false;
+      return removed;
+    }
+
+    int slot = findSlot(key);
+    if (keys[slot] == FREE) {
+      return false;
+    }
+
+    deleteSlot(slot);
+    size--;
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void forEach(LongIntConsumer action) {
+    if (hasFreeKey) {
+      action.accept(FREE, freeKeyValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != FREE) {
+        action.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  private int findSlot(long key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != FREE && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void deleteSlot(int slot) {
+    int mask = keys.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+
+    while (keys[next] != FREE) {
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[hole] = FREE;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[capacity];
+    values = new int[capacity];
+
+    int mask = capacity - 1;
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldKeys[oldSlot] != FREE) {
+        int slot = hash(oldKeys[oldSlot]) & mask;
+        while (keys[slot] != FREE) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[oldSlot];
+        values[slot] = oldValues[oldSlot];
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    long mixed = key * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
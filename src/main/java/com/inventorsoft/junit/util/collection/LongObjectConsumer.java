@@ -0,0 +1,10 @@
+package com.inventorsoft.junit.util.collection;
+
+/**
+ * {@link java.util.function.BiConsumer} with a primitive {@code long} key.
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+
+  void accept(long key, V value);
+}
@@ -0,0 +1,10 @@
+package com.inventorsoft.junit.util.collection;
+
+/**
+ * {@link java.util.function.BiFunction} with a primitive {@code long} key.
+ */
+@FunctionalInterface
+public interface LongObjectFunction<V, R> {
+
+  R apply(long key, V value);
+}
@@ -0,0 +1,89 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer single-consumer queue in the style of the LMAX disruptor. A producer claims a sequence
+ * with one atomic increment, writes its element into the slot of the sequence and publishes it by storing the
+ * sequence next to the slot. The consumer takes published slots in sequence order without any lock and frees them
+ * all at once. Producers wait while the buffer is full.
+ * <p>
+ * {@link #drainTo} and {@link #hasPublished()} must be called by a single consumer thread.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class RingBuffer<E> {
+
+  static final long FULL_WAIT_NANOS = 1_000;
+
+  int mask;
+  Object[] elements;
+  AtomicLongArray publishedSequences;
+  AtomicLong claimedSequence = new AtomicLong(-1L);
+
+  @NonFinal
+  volatile long consumedSequence = -1L;
+
+  public RingBuffer(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+    }
+    this.mask = capacity - 1;
+    this.elements = new Object[capacity];
+    this.publishedSequences = new AtomicLongArray(capacity);
+    for (int index = 0; index < capacity; index++) {
+      publishedSequences.set(index, -1L);
+    }
+  }
+
+  public void put(E element) {
+    long sequence = claimedSequence.incrementAndGet();
+    while (sequence - consumedSequence > elements.length) {
+      LockSupport.parkNanos(FULL_WAIT_NANOS);
+    }
+
+    int index = (int) sequence & mask;
+    elements[index] = element;
+    publishedSequences.set(index, sequence);
+  }
+
+  /**
+   * Moves published elements to the collection in the order of their sequences.
+   *
+   * @return number of moved elements
+   */
+  @SuppressWarnings("unchecked")
+  public int drainTo(Collection<? super E> target, int limit) {
+    long next = consumedSequence + 1;
+    int drained = 0;
+    while (drained < limit) {
+      int index = (int) next & mask;
+      if (publishedSequences.get(index) != next) {
+        break;
+      }
+
+      target.add((E) elements[index]);
+      elements[index] = null;
+      next++;
+      drained++;
+    }
+
+    consumedSequence = next - 1;
+    return drained;
+  }
+
+  public boolean hasPublished() {
+    long next = consumedSequence + 1;
+    return publishedSequences.get((int) next & mask) == next;
+  }
+
+  public int capacity() {
+    return elements.length;
+  }
+}
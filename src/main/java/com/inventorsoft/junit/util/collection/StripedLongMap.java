@@ -0,0 +1,155 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe map with primitive {@code long} keys, split into stripes of {@link LongHashMap} each guarded by its
+ * own {@link StampedLock}. Writes to keys of different stripes proceed in parallel, lookups are optimistic and
+ * take the read lock only when they raced with a write, so the common path neither blocks nor allocates.
+ * Iteration visits stripes one by one and is not ordered across them.
+ */
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class StripedLongMap<V> {
+
+  static final int MAX_STRIPES = 256;
+
+  LongHashMap<V>[] maps;
+  StampedLock[] locks;
+  int mask;
+
+  public StripedLongMap() {
+    this(Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  @SuppressWarnings("unchecked")
+  public StripedLongMap(int concurrency) {
+    int stripes = Integer.highestOneBit(Math.min(MAX_STRIPES, Math.max(1, concurrency)) * 2 - 1);
+    maps = new LongHashMap[stripes];
+    locks = new StampedLock[stripes];
+    for (int stripe = 0; stripe < stripes; stripe++) {
+      maps[stripe] = new LongHashMap<>();
+      locks[stripe] = new StampedLock();
+    }
+    mask = stripes - 1;
+  }
+
+  public V get(long key) {
+    int stripe = stripeFor(key);
+    StampedLock lock = locks[stripe];
+
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      V value = maps[stripe].get(key);
+      if (lock.validate(stamp)) {
+        return value;
+      }
+    }
+
+    stamp = lock.readLock();
+    try {
+      return maps[stripe].get(key);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  public boolean containsKey(long key) {
+    return Objects.nonNull(get(key));
+  }
+
+  /**
+   * Computes a new value for the key under the stripe write lock. {@code null} result removes the mapping.
+   * When the function throws the mapping stays unchanged.
+   *
+   * @return new value
+   */
+  public V compute(long key, LongObjectFunction<? super V, ? extends V> remapping) {
+    int stripe = stripeFor(key);
+    StampedLock lock = locks[stripe];
+
+    long stamp = lock.writeLock();
+    try {
+      LongHashMap<V> map = maps[stripe];
+      V current = map.get(key);
+      V updated = remapping.apply(key, current);
+
+      if (Objects.nonNull(updated)) {
+        map.put(key, updated);
+      } else if (Objects.nonNull(current)) {
+        map.remove(key);
+      }
+      return updated;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Same as {@link #compute(long, LongObjectFunction)}, but the function is called only for a present key.
+   */
+  public V computeIfPresent(long key, LongObjectFunction<? super V, ? extends V> remapping) {
+    return compute(key, (id, current) -> Objects.isNull(current) ? null : remapping.apply(id, current));
+  }
+
+  public V put(long key, V value) {
+    Objects.requireNonNull(value, "value");
+
+    int stripe = stripeFor(key);
+    StampedLock lock = locks[stripe];
+
+    long stamp = lock.writeLock();
+    try {
+      return maps[stripe].put(key, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  public V remove(long key) {
+    int stripe = stripeFor(key);
+    StampedLock lock = locks[stripe];
+
+    long stamp = lock.writeLock();
+    try {
+      return maps[stripe].remove(key);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  public long size() {
+    long size = 0;
+    for (int stripe = 0; stripe < maps.length; stripe++) {
+      long stamp = locks[stripe].readLock();
+      try {
+        size += maps[stripe].size();
+      } finally {
+        locks[stripe].unlockRead(stamp);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Visits entries stripe by stripe, each stripe under its read lock.
+   */
+  public void forEach(LongObjectConsumer<? super V> action) {
+    for (int stripe = 0; stripe < maps.length; stripe++) {
+      long stamp = locks[stripe].readLock();
+      try {
+        maps[stripe].forEach(action);
+      } finally {
+        locks[stripe].unlockRead(stamp);
+      }
+    }
+  }
+
+  private int stripeFor(long key) {
+    long mixed = key * 0xC2B2AE3D27D4EB4FL;
+    return (int) (mixed >>> 40) & mask;
+  }
+}
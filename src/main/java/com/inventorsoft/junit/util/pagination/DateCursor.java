@@ -0,0 +1,20 @@
+package com.inventorsoft.junit.util.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+/**
+ * Decoded cursor of slices ordered by date, both parts are {@code null} for the first slice.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DateCursor {
+
+  LocalDate date;
+  Long position;
+}
@@ -0,0 +1,15 @@
+package com.inventorsoft.junit.util.pagination;
+
+/**
+ * Thrown when a client passed a cursor which wasn't returned by a previous page.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+
+  public InvalidCursorException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
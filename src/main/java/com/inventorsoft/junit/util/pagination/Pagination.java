@@ -0,0 +1,107 @@
+package com.inventorsoft.junit.util.pagination;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Helpers for cursor pagination. Cursor is opaque for clients, it wraps storage position of the last returned
+ * entity.
+ */
+@UtilityClass
+public class Pagination {
+
+  public final int MAX_LIMIT = 1000;
+
+  /**
+   * Deepest position search results can be paged to, ranking keeps every hit up to the end of the page.
+   */
+  public final int MAX_SEARCH_WINDOW = 10_000;
+
+  public int normalizeLimit(int limit) {
+    return Math.max(1, Math.min(limit, MAX_LIMIT));
+  }
+
+  public String encodeCursor(Long position) {
+    if (Objects.isNull(position)) {
+      return null;
+    }
+
+    byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(position).array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  public Long decodeCursor(String cursor) {
+    if (Objects.isNull(cursor) || cursor.isEmpty()) {
+      return null;
+    }
+
+    try {
+      byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+      return ByteBuffer.wrap(bytes).getLong();
+    } catch (RuntimeException e) {
+      throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+    }
+  }
+
+  /**
+   * Cursor of search results, wraps the offset of the next page. No cursor is returned beyond
+   * {@link #MAX_SEARCH_WINDOW}.
+   */
+  public String encodeOffsetCursor(Long offset) {
+    if (Objects.isNull(offset) || offset >= MAX_SEARCH_WINDOW) {
+      return null;
+    }
+
+    return encodeCursor(offset);
+  }
+
+  /**
+   * @return offset wrapped by the cursor, {@code 0} when there is no cursor
+   */
+  public long decodeOffsetCursor(String cursor) {
+    Long offset = decodeCursor(cursor);
+    if (Objects.isNull(offset)) {
+      return 0;
+    }
+    if (offset < 0 || offset >= MAX_SEARCH_WINDOW) {
+      throw new InvalidCursorException("Invalid cursor: " + cursor);
+    }
+    return offset;
+  }
+
+  /**
+   * @return limit of a search page, which doesn't reach beyond {@link #MAX_SEARCH_WINDOW}
+   */
+  public int normalizeSearchLimit(long offset, int limit) {
+    return (int) Math.min(normalizeLimit(limit), MAX_SEARCH_WINDOW - offset);
+  }
+
+  /**
+   * Cursor of slices ordered by date, wraps the date and the storage position of the last returned entity.
+   */
+  public String encodeDateCursor(LocalDate date, Long position) {
+    if (Objects.isNull(date) || Objects.isNull(position)) {
+      return null;
+    }
+
+    byte[] bytes = ByteBuffer.allocate(2 * Long.BYTES).putLong(date.toEpochDay()).putLong(position).array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  public DateCursor decodeDateCursor(String cursor) {
+    if (Objects.isNull(cursor) || cursor.isEmpty()) {
+      return new DateCursor(null, null);
+    }
+
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+      return new DateCursor(LocalDate.ofEpochDay(buffer.getLong()), buffer.getLong());
+    } catch (RuntimeException e) {
+      throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+    }
+  }
+}
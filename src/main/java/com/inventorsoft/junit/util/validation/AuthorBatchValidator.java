@@ -0,0 +1,70 @@
+package com.inventorsoft.junit.util.validation;
+
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.response.BulkItemError;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates create requests of bulk import in one pass. Applies the same rules as
+ * {@link AuthorConstraintValidator} and also rejects names repeated within the batch.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class AuthorBatchValidator {
+
+  static final String VALIDATOR = "author_batch";
+
+  AuthorRepository authorRepository;
+
+  public List<BulkItemError> validate(List<CreateAuthorRequest> requests) {
+    List<BulkItemError> errors = new ArrayList<>();
+    Set<String> batchNames = new HashSet<>();
+
+    for (int index = 0; index < requests.size(); index++) {
+      String message = validate(requests.get(index), batchNames);
+      if (Objects.nonNull(message)) {
+        errors.add(new BulkItemError(index, message));
+      }
+    }
+
+    return errors;
+  }
+
+  private String validate(CreateAuthorRequest request, Set<String> batchNames) {
+    if (Objects.isNull(request)) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_request", "Request is empty");
+    }
+
+    if (Objects.isNull(request.getName()) || request.getName().equals("")) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_name", "Name is empty");
+    }
+
+    if (Objects.isNull(request.getBirthday())) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_birthday", "Birthday is empty");
+    }
+
+    boolean nameRepeated = !batchNames.add(authorRepository.normalizeName(request.getName()));
+    if (nameRepeated) {
+      return ValidationMetrics.reject(VALIDATOR, "name_repeated",
+          "Name is repeated in the batch: " + request.getName());
+    }
+
+    if (authorRepository.existsByName(request.getName())) {
+      return ValidationMetrics.reject(VALIDATOR, "name_exists",
+          "Author already exists with name: " + request.getName());
+    }
+
+    return null;
+  }
+}
@@ -16,6 +16,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class AuthorConstraintValidator implements ConstraintValidator<AuthorValidator, CreateAuthorRequest> {
 
+  static final String VALIDATOR = "author";
+
   AuthorRepository authorRepository;
 
   @Override
@@ -26,16 +28,16 @@ public class AuthorConstraintValidator implements ConstraintValidator<AuthorVali
   public boolean isValid(CreateAuthorRequest request, ConstraintValidatorContext context) {
 
     if (Objects.isNull(request.getName()) || request.getName().equals("")) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "empty_name");
     }
 
     if (Objects.isNull(request.getBirthday())) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "empty_birthday");
     }
 
     boolean nameExists = authorRepository.existsByName(request.getName());
     if (nameExists) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "name_exists");
     }
 
     return true;
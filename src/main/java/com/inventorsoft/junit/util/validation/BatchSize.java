@@ -0,0 +1,20 @@
+package com.inventorsoft.junit.util.validation;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+/**
+ * Limit of bulk requests, a batch is validated, saved and rolled back as a whole within one write.
+ */
+@UtilityClass
+public class BatchSize {
+
+  public final int MAX = 1000;
+
+  public void check(List<?> requests) {
+    if (requests.size() > MAX) {
+      throw new BatchTooLargeException("Batch has " + requests.size() + " items, at most " + MAX + " are allowed");
+    }
+  }
+}
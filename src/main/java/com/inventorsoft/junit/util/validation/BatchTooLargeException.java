@@ -0,0 +1,11 @@
+package com.inventorsoft.junit.util.validation;
+
+/**
+ * Thrown when a bulk request has more items than {@link BatchSize#MAX} allows.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+  public BatchTooLargeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,80 @@
+package com.inventorsoft.junit.util.validation;
+
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.dto.response.BulkItemError;
+import com.inventorsoft.junit.repository.BookRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates create requests of bulk import in one pass. Applies the same rules as {@link BookValidatorConstraint}
+ * and also rejects titles repeated within the batch.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class BookBatchValidator {
+
+  static final String VALIDATOR = "book_batch";
+
+  BookRepository bookRepository;
+
+  public List<BulkItemError> validate(List<CreateBookRequest> requests, Set<Long> existingAuthorIds) {
+    List<BulkItemError> errors = new ArrayList<>();
+    Set<String> batchTitles = new HashSet<>();
+
+    for (int index = 0; index < requests.size(); index++) {
+      String message = validate(requests.get(index), existingAuthorIds, batchTitles);
+      if (Objects.nonNull(message)) {
+        errors.add(new BulkItemError(index, message));
+      }
+    }
+
+    return errors;
+  }
+
+  private String validate(CreateBookRequest request, Set<Long> existingAuthorIds, Set<String> batchTitles) {
+    if (Objects.isNull(request)) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_request", "Request is empty");
+    }
+
+    if (Objects.isNull(request.getTitle()) || request.getTitle().equals("")) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_title", "Title is empty");
+    }
+
+    if (Objects.isNull(request.getReleaseDate()) || request.getReleaseDate().isAfter(LocalDate.now())) {
+      return ValidationMetrics.reject(VALIDATOR, "invalid_release_date", "Release date is empty or in the future");
+    }
+
+    if (Objects.isNull(request.getAuthorId())) {
+      return ValidationMetrics.reject(VALIDATOR, "empty_author_id", "Author id is empty");
+    }
+
+    boolean titleRepeated = !batchTitles.add(bookRepository.normalizeTitle(request.getTitle()));
+    if (titleRepeated) {
+      return ValidationMetrics.reject(VALIDATOR, "title_repeated",
+          "Title is repeated in the batch: " + request.getTitle());
+    }
+
+    if (bookRepository.existsByTitle(request.getTitle())) {
+      return ValidationMetrics.reject(VALIDATOR, "title_exists",
+          "Book already exists with title: " + request.getTitle());
+    }
+
+    if (!existingAuthorIds.contains(request.getAuthorId())) {
+      return ValidationMetrics.reject(VALIDATOR, "author_not_found",
+          "Author not found with id: " + request.getAuthorId());
+    }
+
+    return null;
+  }
+}
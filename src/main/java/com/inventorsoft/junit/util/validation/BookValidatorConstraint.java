@@ -1,8 +1,8 @@
 package com.inventorsoft.junit.util.validation;
 
 import com.inventorsoft.junit.dto.request.CreateBookRequest;
-import com.inventorsoft.junit.repository.AuthorRepository;
 import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -18,8 +18,10 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class BookValidatorConstraint implements ConstraintValidator<BookValidator, CreateBookRequest> {
 
+  static final String VALIDATOR = "book";
+
   BookRepository bookRepository;
-  AuthorRepository authorRepository;
+  AuthorLoader authorLoader;
 
   @Override
   public void initialize(BookValidator constraintAnnotation) {
@@ -29,25 +31,25 @@ public class BookValidatorConstraint implements ConstraintValidator<BookValidato
   public boolean isValid(CreateBookRequest request, ConstraintValidatorContext context) {
 
     if (Objects.isNull(request.getTitle()) || request.getTitle().equals("")) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "empty_title");
     }
 
     if (Objects.isNull(request.getReleaseDate()) || request.getReleaseDate().isAfter(LocalDate.now())) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "invalid_release_date");
     }
 
     if (Objects.isNull(request.getAuthorId())) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "empty_author_id");
     }
 
     boolean titleExists = bookRepository.existsByTitle(request.getTitle());
     if (titleExists) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "title_exists");
     }
 
-    boolean authorNotExists = !authorRepository.existsById(request.getAuthorId());
+    boolean authorNotExists = !authorLoader.exists(request.getAuthorId());
     if (authorNotExists) {
-      return false;
+      return ValidationMetrics.reject(VALIDATOR, "author_not_found");
     }
 
     return true;
@@ -0,0 +1,30 @@
+package com.inventorsoft.junit.util.validation;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Counts rejected requests by validator and reason in {@value #REJECTS} counter of the global registry, which
+ * Spring Boot links to its own, so validators need no registry of their own.
+ */
+@UtilityClass
+public class ValidationMetrics {
+
+  public static final String REJECTS = "validation.rejects";
+
+  /**
+   * @return {@code false}, result of a rejecting constraint validator
+   */
+  public boolean reject(String validator, String reason) {
+    Metrics.counter(REJECTS, "validator", validator, "reason", reason).increment();
+    return false;
+  }
+
+  /**
+   * @return {@code message}, result of a rejecting batch validator
+   */
+  public String reject(String validator, String reason, String message) {
+    reject(validator, reason);
+    return message;
+  }
+}
@@ -0,0 +1,106 @@
+package com.inventorsoft.junit.controller.reactive;
+
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.response.AuthorResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
+import com.inventorsoft.junit.service.reactive.ReactiveAuthorService;
+import com.inventorsoft.junit.service.reactive.ReactiveBookService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Routes of {@code AuthorController} on WebFlux, active with {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+@RequestMapping("/authors")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ReactiveAuthorController {
+
+  ReactiveAuthorService reactiveAuthorService;
+  ReactiveBookService reactiveBookService;
+  BookFieldsWriter bookFieldsWriter;
+
+  @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<byte[]> getById(@PathVariable long id) {
+    return reactiveAuthorService.getJsonById(id);
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @ResponseStatus(HttpStatus.OK)
+  public Flux<AuthorResponse> getAll() {
+    return reactiveAuthorService.getAll();
+  }
+
+  @GetMapping(params = "limit")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<PageResponse<AuthorResponse>> getPage(@RequestParam int limit,
+                                                    @RequestParam(required = false) String after) {
+    return reactiveAuthorService.getPage(after, limit);
+  }
+
+  @GetMapping("/born")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<PageResponse<AuthorResponse>> getByBirthday(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam(required = false) String after) {
+    return reactiveAuthorService.getPageByBirthday(from, to, after, limit);
+  }
+
+  @GetMapping(value = "/{id}/books", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<byte[]> getBooks(@PathVariable long id,
+                               @RequestParam(defaultValue = "20") int limit,
+                               @RequestParam(required = false) String after,
+                               @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return reactiveBookService.getPageByAuthorId(id, after, limit, bookFields)
+        .map(page -> bookFieldsWriter.write(page, bookFields));
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Long> create(@Valid @RequestBody CreateAuthorRequest request) {
+    return reactiveAuthorService.create(request);
+  }
+
+  @PostMapping("/bulk")
+  public Mono<ResponseEntity<BulkCreateResponse>> createAll(@RequestBody List<CreateAuthorRequest> requests) {
+    return reactiveAuthorService.createAll(requests)
+        .map(response -> ResponseEntity.status(response.isCreated() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+            .body(response));
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<Void> deleteById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean cascade) {
+    return reactiveAuthorService.deleteById(id, cascade);
+  }
+}
@@ -0,0 +1,163 @@
+package com.inventorsoft.junit.controller.reactive;
+
+import com.inventorsoft.junit.controller.EntityTags;
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.dto.request.UpdateBookRequest;
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.CacheStatsResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
+import com.inventorsoft.junit.service.reactive.ReactiveBookService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Routes of {@code BookController} on WebFlux, active with {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+@RequestMapping("/books")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ReactiveBookController {
+
+  ReactiveBookService reactiveBookService;
+  BookFieldsWriter bookFieldsWriter;
+
+  /**
+   * Responds with the version of the book in {@code ETag}, to be sent back in {@code If-Match} of updates.
+   */
+  @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<byte[]>> getById(@PathVariable long id) {
+    return reactiveBookService.getVersionedJsonById(id)
+        .map(book -> ResponseEntity.ok()
+            .eTag(EntityTags.of(book.getVersion()))
+            .body(book.getJson()));
+  }
+
+  /**
+   * Pages take {@code fields=id,title} like those of {@code BookController}, streamed listings send whole books.
+   */
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<byte[]> search(@RequestParam("q") String query,
+                             @RequestParam(defaultValue = "20") int limit,
+                             @RequestParam(required = false) String after,
+                             @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return reactiveBookService.search(query, after, limit, bookFields)
+        .map(page -> bookFieldsWriter.write(page, bookFields));
+  }
+
+  @GetMapping(value = "/releases", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<byte[]> getByReleaseDate(
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return reactiveBookService.getPageByReleaseDate(from, to, after, limit, bookFields)
+        .map(page -> bookFieldsWriter.write(page, bookFields));
+  }
+
+  @GetMapping("/cache-stats")
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<CacheStatsResponse> getCacheStats() {
+    return reactiveBookService.getCacheStats();
+  }
+
+  /**
+   * Streams books with backpressure, a book is read from the store and mapped only when the client can take it.
+   * {@code application/x-ndjson} writes them one per line.
+   */
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  @ResponseStatus(HttpStatus.OK)
+  public Flux<BookResponse> getAll() {
+    return reactiveBookService.getAll();
+  }
+
+  @GetMapping(params = "limit", produces = MediaType.APPLICATION_JSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Mono<byte[]> getPage(@RequestParam int limit, @RequestParam(required = false) String after,
+                              @RequestParam(required = false) String fields) {
+    BookFields bookFields = BookFields.parse(fields);
+    return reactiveBookService.getPage(after, limit, bookFields)
+        .map(page -> bookFieldsWriter.write(page, bookFields));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @ResponseStatus(HttpStatus.OK)
+  public Flux<BookResponse> export() {
+    return reactiveBookService.getAll();
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Long> create(@Valid @RequestBody CreateBookRequest createBookRequest) {
+    return reactiveBookService.create(createBookRequest);
+  }
+
+  @PostMapping("/bulk")
+  public Mono<ResponseEntity<BulkCreateResponse>> createAll(@RequestBody List<CreateBookRequest> requests) {
+    return reactiveBookService.createAll(requests)
+        .map(response -> ResponseEntity.status(response.isCreated() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+            .body(response));
+  }
+
+  /**
+   * Same versioning as {@code BookController}: 412 when {@code If-Match} doesn't match, 409 on a concurrent change
+   * and the new version in {@code ETag} on success.
+   */
+  @PutMapping("{id}")
+  public Mono<ResponseEntity<Void>> update(@PathVariable Long id, @RequestBody UpdateBookRequest updateBookRequest,
+                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                           String ifMatch) {
+    return reactiveBookService.update(id, updateBookRequest, EntityTags.parseIfMatch(ifMatch))
+        .map(ReactiveBookController::withVersion);
+  }
+
+  @PatchMapping("/{id}/authors")
+  public Mono<ResponseEntity<Void>> changeAuthorForBook(@PathVariable Long id, @RequestParam Long authorId,
+                                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                        String ifMatch) {
+    return reactiveBookService.changeAuthorForBook(id, authorId, EntityTags.parseIfMatch(ifMatch))
+        .map(ReactiveBookController::withVersion);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<Void> deleteById(@PathVariable Long id) {
+    return reactiveBookService.deleteById(id);
+  }
+
+  private static ResponseEntity<Void> withVersion(long version) {
+    return ResponseEntity.ok().eTag(EntityTags.of(version)).build();
+  }
+}
@@ -0,0 +1,13 @@
+package com.inventorsoft.junit.repository.reactive;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReactiveAuthorRepository extends ReactiveStoreRepository<Author> {
+
+  public ReactiveAuthorRepository(AuthorRepository authorRepository) {
+    super(authorRepository);
+  }
+}
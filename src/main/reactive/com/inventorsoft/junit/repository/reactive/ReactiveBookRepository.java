@@ -0,0 +1,13 @@
+package com.inventorsoft.junit.repository.reactive;
+
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.BookRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReactiveBookRepository extends ReactiveStoreRepository<Book> {
+
+  public ReactiveBookRepository(BookRepository bookRepository) {
+    super(bookRepository);
+  }
+}
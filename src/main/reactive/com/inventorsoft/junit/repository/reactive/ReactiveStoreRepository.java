@@ -0,0 +1,51 @@
+package com.inventorsoft.junit.repository.reactive;
+
+import com.inventorsoft.junit.model.Identifiable;
+import com.inventorsoft.junit.repository.StoreRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking facade over {@link StoreRepository}. Reads never block, the store is in memory, so they run on the
+ * subscribing thread. Writes may wait until the write-ahead log is forced, so they run on the bounded elastic
+ * scheduler and never on an event loop.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public abstract class ReactiveStoreRepository<T extends Identifiable> {
+
+  StoreRepository<T> repository;
+
+  public Mono<T> findById(long id) {
+    return Mono.defer(() -> Mono.justOrEmpty(repository.getOrNull(id)));
+  }
+
+  public Mono<Boolean> existsById(long id) {
+    return Mono.fromSupplier(() -> repository.existsById(id));
+  }
+
+  /**
+   * Entities in storage order, pulled from the store only as fast as the subscriber requests them.
+   */
+  public Flux<T> findAll() {
+    return Flux.fromStream(repository::streamAll);
+  }
+
+  public Mono<Long> count() {
+    return Mono.fromSupplier(repository::count);
+  }
+
+  public Mono<T> save(T entity) {
+    return Mono.fromCallable(() -> repository.save(entity))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  public Mono<Void> deleteById(long id) {
+    return Mono.<Void>fromRunnable(() -> repository.deleteById(id))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+}
@@ -0,0 +1,74 @@
+package com.inventorsoft.junit.service.reactive;
+
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.response.AuthorResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.AuthorMapper;
+import com.inventorsoft.junit.repository.reactive.ReactiveAuthorRepository;
+import com.inventorsoft.junit.service.AuthorService;
+import com.inventorsoft.junit.service.cache.AuthorJsonCache;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive variant of {@link AuthorService}, reads run on the subscribing thread and writes on the bounded
+ * elastic scheduler.
+ */
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ReactiveAuthorService {
+
+  AuthorService authorService;
+  ReactiveAuthorRepository reactiveAuthorRepository;
+  AuthorMapper authorMapper;
+  AuthorJsonCache authorJsonCache;
+
+  public Mono<byte[]> getJsonById(long id) {
+    return reactiveAuthorRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new RuntimeException("Not found by id: " + id)))
+        .map(author -> authorJsonCache.get(author, authorMapper::mapEntityToResponse));
+  }
+
+  public Flux<AuthorResponse> getAll() {
+    return reactiveAuthorRepository.findAll().map(authorMapper::mapEntityToResponse);
+  }
+
+  public Mono<PageResponse<AuthorResponse>> getPage(String after, int limit) {
+    return Mono.fromSupplier(() -> authorService.getPage(after, limit));
+  }
+
+  public Mono<PageResponse<AuthorResponse>> getPageByBirthday(LocalDate from, LocalDate to, String after,
+                                                              int limit) {
+    return Mono.fromSupplier(() -> authorService.getPageByBirthday(from, to, after, limit));
+  }
+
+  public Mono<Long> create(CreateAuthorRequest request) {
+    return write(() -> authorService.create(request));
+  }
+
+  public Mono<BulkCreateResponse> createAll(List<CreateAuthorRequest> requests) {
+    return write(() -> authorService.createAll(requests));
+  }
+
+  public Mono<Void> deleteById(Long id, boolean cascade) {
+    return write(() -> {
+      authorService.deleteById(id, cascade);
+      return null;
+    });
+  }
+
+  private static <T> Mono<T> write(Callable<T> action) {
+    return Mono.fromCallable(action).subscribeOn(Schedulers.boundedElastic());
+  }
+}
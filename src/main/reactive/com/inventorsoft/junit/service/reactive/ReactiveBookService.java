@@ -0,0 +1,109 @@
+package com.inventorsoft.junit.service.reactive;
+
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.dto.request.UpdateBookRequest;
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.CacheStatsResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookMapper;
+import com.inventorsoft.junit.repository.reactive.ReactiveBookRepository;
+import com.inventorsoft.junit.service.BookService;
+import com.inventorsoft.junit.service.cache.BookJsonCache;
+import com.inventorsoft.junit.service.cache.VersionedJson;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive variant of {@link BookService}. Reads are computed in memory on the subscribing thread, writes keep
+ * validation, indexes and cache invalidation of {@link BookService} and run on the bounded elastic scheduler,
+ * since they may wait for the write-ahead log.
+ */
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ReactiveBookService {
+
+  BookService bookService;
+  ReactiveBookRepository reactiveBookRepository;
+  BookMapper bookMapper;
+  BookJsonCache bookJsonCache;
+
+  public Mono<VersionedJson> getVersionedJsonById(long id) {
+    return reactiveBookRepository.findById(id)
+        .switchIfEmpty(Mono.error(() -> new RuntimeException("Not found by id: " + id)))
+        .map(book -> new VersionedJson(book.getVersion(), bookJsonCache.get(book, bookMapper::mapEntityToResponse)));
+  }
+
+  /**
+   * Maps books one by one as the subscriber requests them, nothing is materialized.
+   */
+  public Flux<BookResponse> getAll() {
+    return reactiveBookRepository.findAll().map(bookMapper::mapEntityToResponse);
+  }
+
+  public Mono<PageResponse<BookResponse>> getPage(String after, int limit, BookFields fields) {
+    return Mono.fromSupplier(() -> bookService.getPage(after, limit, fields));
+  }
+
+  public Mono<PageResponse<BookResponse>> search(String query, String after, int limit, BookFields fields) {
+    return Mono.fromSupplier(() -> bookService.search(query, after, limit, fields));
+  }
+
+  public Mono<PageResponse<BookResponse>> getPageByReleaseDate(LocalDate from, LocalDate to, String after,
+                                                               int limit, BookFields fields) {
+    return Mono.fromSupplier(() -> bookService.getPageByReleaseDate(from, to, after, limit, fields));
+  }
+
+  public Mono<PageResponse<BookResponse>> getPageByAuthorId(long authorId, String after, int limit,
+                                                            BookFields fields) {
+    return Mono.fromSupplier(() -> bookService.getPageByAuthorId(authorId, after, limit, fields));
+  }
+
+  public Mono<CacheStatsResponse> getCacheStats() {
+    return Mono.fromSupplier(bookService::getCacheStats);
+  }
+
+  public Mono<Long> create(CreateBookRequest request) {
+    return write(() -> bookService.create(request));
+  }
+
+  public Mono<BulkCreateResponse> createAll(List<CreateBookRequest> requests) {
+    return write(() -> bookService.createAll(requests));
+  }
+
+  /**
+   * @return new version of the book
+   */
+  public Mono<Long> update(Long id, UpdateBookRequest request, Long expectedVersion) {
+    return write(() -> bookService.update(id, request, expectedVersion));
+  }
+
+  /**
+   * @return version of the book after the change
+   */
+  public Mono<Long> changeAuthorForBook(Long bookId, Long newAuthorId, Long expectedVersion) {
+    return write(() -> bookService.changeAuthorForBook(bookId, newAuthorId, expectedVersion));
+  }
+
+  public Mono<Void> deleteById(Long id) {
+    return write(() -> {
+      bookService.deleteById(id);
+      return null;
+    });
+  }
+
+  private static <T> Mono<T> write(Callable<T> action) {
+    return Mono.fromCallable(action).subscribeOn(Schedulers.boundedElastic());
+  }
+}
@@ -0,0 +1,48 @@
+package com.inventorsoft.junit.config;
+
+import com.inventorsoft.junit.service.BookService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+  @Test
+  void timeShouldRecordCallsOfSameMethodInOneTimerPerException() throws Throwable {
+
+    // given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ServiceMetricsAspect aspect = new ServiceMetricsAspect(registry);
+
+    Signature signature = mock(Signature.class);
+    when(signature.getDeclaringType()).thenReturn(BookService.class);
+    when(signature.getName()).thenReturn("getById");
+    ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+    when(joinPoint.getSignature()).thenReturn(signature);
+    when(joinPoint.proceed()).thenReturn("book", "book")
+        .thenThrow(new IllegalStateException("Not found by id: 1"));
+
+    // when
+    aspect.time(joinPoint);
+    aspect.time(joinPoint);
+    assertThrows(IllegalStateException.class, () -> aspect.time(joinPoint));
+
+    // then
+    Timer succeeded = registry.get(ServiceMetricsAspect.METRIC)
+        .tags("class", "BookService", "method", "getById", "exception", ServiceMetricsAspect.NO_EXCEPTION)
+        .timer();
+    Timer failed = registry.get(ServiceMetricsAspect.METRIC)
+        .tags("class", "BookService", "method", "getById", "exception", "IllegalStateException")
+        .timer();
+    assertEquals(2, succeeded.count());
+    assertEquals(1, failed.count());
+    assertEquals(2, registry.get(ServiceMetricsAspect.METRIC).timers().size());
+  }
+}
@@ -0,0 +1,186 @@
+package com.inventorsoft.junit.controller;
+
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.dto.response.PageResponse;
+import com.inventorsoft.junit.mapper.BookFields;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
+import com.inventorsoft.junit.repository.VersionConflictException;
+import com.inventorsoft.junit.service.BookService;
+import com.inventorsoft.junit.service.PreconditionFailedException;
+import com.inventorsoft.junit.service.cache.VersionedJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Versions of books in {@code ETag} and {@code If-Match}, and projections of listings.
+ */
+@WebMvcTest(BookController.class)
+@Import(BookFieldsWriter.class)
+class BookControllerTest {
+
+  static final long ID = 1L;
+  static final String BOOK = "{\"title\":\"Title\",\"description\":\"Description\",\"releaseDate\":\"2000-01-01\","
+      + "\"authorId\":1}";
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @MockBean
+  BookService bookService;
+
+  @Test
+  public void getByIdShouldRespondWithVersionInETag() throws Exception {
+
+    // given
+    when(bookService.getVersionedJsonById(ID))
+        .thenReturn(new VersionedJson(3L, "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+
+    // when
+    // then
+    mockMvc.perform(get("/books/{id}", ID))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+  }
+
+  @Test
+  public void updateShouldPassIfMatchVersionAndRespondWithNewVersion() throws Exception {
+
+    // given
+    when(bookService.update(eq(ID), any(), eq(3L))).thenReturn(4L);
+
+    // when
+    // then
+    mockMvc.perform(update().header(HttpHeaders.IF_MATCH, "\"3\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+  }
+
+  @Test
+  public void updateShouldRespondWithPreconditionFailedWhenVersionDoesNotMatch() throws Exception {
+
+    // given
+    when(bookService.update(eq(ID), any(), eq(2L)))
+        .thenThrow(new PreconditionFailedException("Book has version 3, not 2, id: 1"));
+
+    // when
+    // then
+    mockMvc.perform(update().header(HttpHeaders.IF_MATCH, "\"2\""))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  public void updateShouldRespondWithPreconditionFailedForWeakTag() throws Exception {
+
+    // when
+    // then
+    mockMvc.perform(update().header(HttpHeaders.IF_MATCH, "W/\"3\""))
+        .andExpect(status().isPreconditionFailed());
+    verifyNoInteractions(bookService);
+  }
+
+  @Test
+  public void updateShouldRespondWithConflictWhenBookWasSavedConcurrently() throws Exception {
+
+    // given
+    when(bookService.update(eq(ID), any(), isNull())).thenThrow(new VersionConflictException(ID, 3L));
+
+    // when
+    // then
+    mockMvc.perform(update())
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  public void getPageShouldWriteOnlyRequestedFields() throws Exception {
+
+    // given
+    when(bookService.getPage(isNull(), eq(1), any(BookFields.class))).thenReturn(page(book()));
+
+    // when
+    // then
+    mockMvc.perform(get("/books").param("limit", "1").param("fields", "id,description"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"items\":[{\"id\":1,\"description\":null}],\"nextCursor\":null}", true));
+  }
+
+  @Test
+  public void getPageShouldWriteNullFieldsOfFullBooks() throws Exception {
+
+    // given
+    when(bookService.getPage(isNull(), eq(1), eq(BookFields.ALL))).thenReturn(page(book()));
+
+    // when
+    // then
+    mockMvc.perform(get("/books").param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().json("{\"items\":[{\"id\":1,\"title\":\"Title\",\"releaseDate\":null,"
+            + "\"description\":null,\"author\":null}],\"nextCursor\":null}", true));
+  }
+
+  @Test
+  public void getPageShouldRejectFieldListWithoutFields() throws Exception {
+
+    // when
+    // then
+    mockMvc.perform(get("/books").param("limit", "1").param("fields", ","))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(bookService);
+  }
+
+  @Test
+  public void exportShouldWriteBookPerLine() throws Exception {
+
+    // given
+    BookResponse second = book();
+    second.setId(2L);
+    when(bookService.streamAll(any(BookFields.class))).thenReturn(Stream.of(book(), second));
+
+    // when
+    // then
+    mockMvc.perform(get("/books/export").param("fields", "id"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+        .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+  }
+
+  private static BookResponse book() {
+    BookResponse book = new BookResponse();
+    book.setId(ID);
+    book.setTitle("Title");
+    return book;
+  }
+
+  private static PageResponse<BookResponse> page(BookResponse book) {
+    PageResponse<BookResponse> page = new PageResponse<>();
+    page.setItems(List.of(book));
+    return page;
+  }
+
+  private static MockHttpServletRequestBuilder update() {
+    return put("/books/{id}", ID)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(BOOK);
+  }
+}
@@ -0,0 +1,51 @@
+package com.inventorsoft.junit.controller;
+
+import com.inventorsoft.junit.service.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntityTagsTest {
+
+  @Test
+  public void parseIfMatchShouldReturnVersionOfStrongTag() {
+
+    // when
+    Long version = EntityTags.parseIfMatch(" \"3\" ");
+
+    // then
+    assertEquals(3L, version);
+  }
+
+  @Test
+  public void parseIfMatchShouldAcceptAnyVersionWhenMissingOrWildcard() {
+
+    // when
+    // then
+    assertNull(EntityTags.parseIfMatch(null));
+    assertNull(EntityTags.parseIfMatch(""));
+    assertNull(EntityTags.parseIfMatch("*"));
+  }
+
+  @Test
+  public void parseIfMatchShouldRejectWeakAndMalformedTags() {
+
+    // when
+    // then
+    assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("W/\"3\""));
+    assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("3"));
+    assertThrows(PreconditionFailedException.class, () -> EntityTags.parseIfMatch("\"three\""));
+  }
+
+  @Test
+  public void ofShouldQuoteVersion() {
+
+    // when
+    String tag = EntityTags.of(7L);
+
+    // then
+    assertEquals("\"7\"", tag);
+  }
+}
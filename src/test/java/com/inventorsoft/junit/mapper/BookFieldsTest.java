@@ -0,0 +1,66 @@
+package com.inventorsoft.junit.mapper;
+
+import com.inventorsoft.junit.mapper.BookFields.Field;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookFieldsTest {
+
+  @Test
+  public void parseMissingFields() {
+
+    // when
+    BookFields fields = BookFields.parse(null);
+    BookFields blankFields = BookFields.parse(" ");
+
+    // then
+    assertSame(BookFields.ALL, fields);
+    assertSame(BookFields.ALL, blankFields);
+  }
+
+  @Test
+  public void parseListedFields() {
+
+    // when
+    BookFields fields = BookFields.parse("id, title,");
+
+    // then
+    assertTrue(fields.includes(Field.ID));
+    assertTrue(fields.includes(Field.TITLE));
+    assertFalse(fields.includes(Field.RELEASE_DATE));
+    assertFalse(fields.includes(Field.DESCRIPTION));
+    assertFalse(fields.includes(Field.AUTHOR));
+    assertFalse(fields.isAll());
+  }
+
+  @Test
+  public void parseEveryField() {
+
+    // when
+    BookFields fields = BookFields.parse("author,description,releaseDate,title,id");
+
+    // then
+    assertTrue(fields.isAll());
+  }
+
+  @Test
+  public void parseUnknownField() {
+
+    // when
+    // then
+    assertThrows(UnknownFieldException.class, () -> BookFields.parse("id,isbn"));
+  }
+
+  @Test
+  public void parseListWithoutFields() {
+
+    // when
+    // then
+    assertThrows(UnknownFieldException.class, () -> BookFields.parse(","));
+    assertThrows(UnknownFieldException.class, () -> BookFields.parse(" , ,"));
+  }
+}
@@ -0,0 +1,80 @@
+package com.inventorsoft.junit.mapper;
+
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookMapperTest {
+
+  static final long ID = 1L;
+  static final long AUTHOR_ID = 2L;
+  static final String TITLE = "Clean Code";
+  static final String DESCRIPTION = "A Handbook of Agile Software Craftsmanship";
+
+  @Mock
+  AuthorLoader authorLoader;
+
+  @Test
+  void mapEntityToResponseShouldMapTitleAndDescriptionSeparately() {
+
+    // given
+    Book book = book();
+    when(authorLoader.load(AUTHOR_ID)).thenReturn(Optional.of(book.getAuthor()));
+    BookMapper bookMapper = new BookMapper(authorLoader, new AuthorMapper());
+
+    // when
+    BookResponse response = bookMapper.mapEntityToResponse(book, BookFields.ALL);
+
+    // then
+    assertEquals(ID, response.getId());
+    assertEquals(TITLE, response.getTitle());
+    assertEquals(DESCRIPTION, response.getDescription());
+    assertEquals(AUTHOR_ID, response.getAuthor().getId());
+  }
+
+  @Test
+  void mapEntityToResponseShouldMapOnlyRequestedFields() {
+
+    // given
+    BookMapper bookMapper = new BookMapper(authorLoader, new AuthorMapper());
+
+    // when
+    BookResponse response = bookMapper.mapEntityToResponse(book(), BookFields.parse("id,title"));
+
+    // then
+    assertEquals(ID, response.getId());
+    assertEquals(TITLE, response.getTitle());
+    assertNull(response.getDescription());
+    assertNull(response.getReleaseDate());
+    assertNull(response.getAuthor());
+  }
+
+  private static Book book() {
+    Book book = new Book();
+    book.setId(ID);
+    book.setTitle(TITLE);
+    book.setDescription(DESCRIPTION);
+    book.setReleaseDate(LocalDate.of(2008, 8, 1));
+    Author author = new Author();
+    author.setId(AUTHOR_ID);
+    author.setName("Robert C. Martin");
+    book.setAuthor(author);
+    return book;
+  }
+}
@@ -3,12 +3,12 @@ package com.inventorsoft.junit.repository;
 import com.inventorsoft.junit.model.Author;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AuthorRepositoryTest {
@@ -19,13 +19,10 @@ class AuthorRepositoryTest {
   @BeforeEach
   public void setUp() {
     Author author = new Author();
+    author.setId(1L);
     author.setName(NAME);
 
-    Map<Long, Author> authorMap = new LinkedHashMap<>();
-    authorMap.put(1L, author);
-
-    // since authorMap field in repository class is private final, there is no way to set it, except reflection
-    ReflectionTestUtils.setField(authorRepository, "authorMap", authorMap);
+    authorRepository.save(author);
   }
 
   @Test
@@ -39,4 +36,93 @@ class AuthorRepositoryTest {
     boolean exists = authorRepository.existsByName("Some other name");
     assertFalse(exists);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void saveShouldNotReuseIdOfDeletedEntity() {
+    authorRepository.deleteById(1L);
+
+    Author author = new Author();
+    author.setName(NAME);
+    authorRepository.save(author);
+
+    assertEquals(2L, author.getId());
+  }
+
+  @Test
+  public void deleteByIdShouldIgnoreNullId() {
+    authorRepository.deleteById(null);
+
+    assertEquals(1L, authorRepository.count());
+  }
+
+  @Test
+  public void saveShouldIncrementVersionWhenStoredVersionIsExpected() {
+    Author author = author(1L, "Jane Doe", 1L);
+
+    authorRepository.save(author);
+
+    assertEquals(2L, author.getVersion());
+    assertEquals("Jane Doe", authorRepository.findById(1L).orElseThrow().getName());
+  }
+
+  @Test
+  public void saveShouldRejectStaleVersion() {
+    Author stale = author(1L, "Jane Doe", 0L);
+
+    assertThrows(VersionConflictException.class, () -> authorRepository.save(stale));
+
+    assertEquals(0L, stale.getVersion());
+    assertEquals(NAME, authorRepository.findById(1L).orElseThrow().getName());
+  }
+
+  @Test
+  public void saveShouldNotRecreateEntityDeletedMeanwhile() {
+    Author author = authorRepository.findById(1L).orElseThrow().copy();
+    authorRepository.deleteById(1L);
+
+    author.setName("Recreated");
+    assertThrows(VersionConflictException.class, () -> authorRepository.save(author));
+    assertFalse(authorRepository.existsById(1L));
+  }
+
+  @Test
+  public void saveShouldKeepSnapshotUnaffectedBySavedEntity() {
+    Author author = author(null, "Jane Doe", 0L);
+    authorRepository.save(author);
+
+    author.setName("Changed");
+
+    assertEquals("Jane Doe", authorRepository.findById(author.getId()).orElseThrow().getName());
+  }
+
+  @Test
+  public void saveShouldRejectModifiedSnapshot() {
+    Author stored = authorRepository.findById(1L).orElseThrow();
+
+    assertThrows(IllegalArgumentException.class, () -> authorRepository.save(stored));
+  }
+
+  @Test
+  public void saveAllShouldRollBackWhenSomeEntityIsRejected() {
+    Author first = new Author();
+    first.setName("Jane Doe");
+    Author duplicate = new Author();
+    duplicate.setName(NAME);
+
+    RejectedBatchItemException exception = assertThrows(RejectedBatchItemException.class,
+        () -> authorRepository.saveAll(List.of(first, duplicate)));
+
+    assertEquals(1, exception.getIndex());
+
+    assertFalse(authorRepository.existsByName("Jane Doe"));
+    assertEquals(1, authorRepository.findAll().size());
+  }
+
+  private static Author author(Long id, String name, long version) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName(name);
+    author.setVersion(version);
+    return author;
+  }
+}
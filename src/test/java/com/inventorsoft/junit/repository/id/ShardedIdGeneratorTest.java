@@ -0,0 +1,42 @@
+package com.inventorsoft.junit.repository.id;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedIdGeneratorTest {
+
+  @Test
+  void nextIdShouldStayInShardOfCurrentThread() {
+
+    // given
+    ShardedIdGenerator generator = new ShardedIdGenerator(4);
+    long shard = Thread.currentThread().getId() % 4;
+
+    // when
+    long first = generator.nextId();
+    long[] batch = generator.nextIds(2);
+
+    // then
+    assertEquals(shard, first);
+    assertEquals(shard + 4, batch[0]);
+    assertEquals(shard + 8, batch[1]);
+    assertEquals(shard + 8, generator.currentValue());
+  }
+
+  @Test
+  void nextIdShouldBeGreaterThanRestoredId() {
+
+    // given
+    ShardedIdGenerator generator = new ShardedIdGenerator(4);
+    generator.advanceTo(41);
+
+    // when
+    long next = generator.nextId();
+
+    // then
+    assertTrue(next > 41);
+    assertEquals(next, generator.currentValue());
+  }
+}
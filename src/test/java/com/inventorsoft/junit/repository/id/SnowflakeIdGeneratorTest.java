@@ -0,0 +1,57 @@
+package com.inventorsoft.junit.repository.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+  static final Instant NOW = Instant.parse("2022-06-01T10:00:00Z");
+
+  @Test
+  void nextIdShouldBeMonotonicWhenClockGoesBack() {
+
+    // given
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Clock.fixed(NOW, ZoneOffset.UTC));
+    long first = generator.nextId();
+
+    SnowflakeIdGenerator restored = new SnowflakeIdGenerator(1, Clock.fixed(NOW.minusSeconds(60), ZoneOffset.UTC));
+    restored.advanceTo(first);
+
+    // when
+    long second = restored.nextId();
+
+    // then
+    assertTrue(second > first);
+  }
+
+  @Test
+  void nextIdShouldBorrowNextMillisecondWhenSequenceOverflows() {
+
+    // given
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, Clock.fixed(NOW, ZoneOffset.UTC));
+    long previous = generator.nextId();
+
+    // when
+    for (int i = 0; i <= SnowflakeIdGenerator.MAX_SEQUENCE; i++) {
+      long next = generator.nextId();
+
+      // then
+      assertTrue(next > previous);
+      previous = next;
+    }
+    assertEquals(NOW.toEpochMilli() - SnowflakeIdGenerator.EPOCH + 1,
+        previous >>> SnowflakeIdGenerator.TIMESTAMP_SHIFT);
+  }
+
+  @Test
+  void constructorShouldThrowIllegalArgumentExceptionWhenWorkerIdIsOutOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+  }
+}
@@ -0,0 +1,78 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.DateSlice;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class DateRangeIndexTest {
+
+  static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+  ConcurrentEntityStore<Book> store = new ConcurrentEntityStore<>();
+  DateRangeIndex<Book> releaseDateIndex = new DateRangeIndex<>(Book::getReleaseDate);
+
+  @BeforeEach
+  void setUp() {
+    store.addListener(releaseDateIndex);
+    // ids in reverse order of dates, so the order of dates is visible
+    for (long id = 1; id <= 5; id++) {
+      store.put(id, book(id, FIRST_DATE.plusDays(5 - id)));
+    }
+  }
+
+  @Test
+  void findIds_returnsWindowInOrderOfDates() {
+    // when
+    DateSlice<Long> slice = releaseDateIndex.findIds(FIRST_DATE.plusDays(1), FIRST_DATE.plusDays(3), null, null, 10);
+
+    // then
+    assertEquals(List.of(4L, 3L, 2L), slice.getContent());
+    assertNull(slice.getNextPosition());
+  }
+
+  @Test
+  void findIds_paginatesWithinWindow() {
+    // when
+    DateSlice<Long> first = releaseDateIndex.findIds(FIRST_DATE, FIRST_DATE.plusDays(3), null, null, 2);
+    DateSlice<Long> second = releaseDateIndex.findIds(FIRST_DATE, FIRST_DATE.plusDays(3), first.getNextDate(),
+        first.getNextPosition(), 2);
+
+    // then
+    assertEquals(List.of(5L, 4L), first.getContent());
+    assertEquals(FIRST_DATE.plusDays(1), first.getNextDate());
+    assertEquals(List.of(3L, 2L), second.getContent());
+    assertNull(second.getNextPosition());
+  }
+
+  @Test
+  void onPut_movesIdToNewDate() {
+    // given
+    Book book = store.get(5L);
+    book.setReleaseDate(FIRST_DATE.plusYears(1));
+
+    // when
+    store.put(5L, book);
+    store.remove(4L);
+
+    // then
+    assertEquals(List.of(3L, 2L, 1L, 5L), releaseDateIndex.findIds(null, null, null, null, 10).getContent());
+  }
+
+  private static Book book(long id, LocalDate releaseDate) {
+    Book book = new Book();
+    book.setId(id);
+    book.setReleaseDate(releaseDate);
+    return book;
+  }
+}
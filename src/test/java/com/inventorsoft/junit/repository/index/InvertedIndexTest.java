@@ -0,0 +1,103 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class InvertedIndexTest {
+
+  ConcurrentEntityStore<Book> store = new ConcurrentEntityStore<>();
+  InvertedIndex<Book> searchIndex = new InvertedIndex<>(new TextAnalyzer(true), Book::getTitle,
+      Book::getDescription);
+
+  @BeforeEach
+  void setUp() {
+    store.addListener(searchIndex);
+    store.put(1L, book(1L, "Clean Code", "A handbook of agile software craftsmanship"));
+    store.put(2L, book(2L, "Refactoring", "Improving the design of existing code"));
+    store.put(3L, book(3L, "Domain-Driven Design", "Tackling complexity in the heart of software"));
+  }
+
+  @Test
+  void searchShouldRankTitleMatchesFirst() {
+
+    // when
+    Slice<Long> result = searchIndex.search("code", 0, 10);
+
+    // then
+    assertEquals(List.of(1L, 2L), result.getContent());
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  void searchShouldRejectOffsetOutsideOfResults() {
+    assertThrows(IllegalArgumentException.class, () -> searchIndex.search("code", -1, 10));
+    assertThrows(IllegalArgumentException.class, () -> searchIndex.search("code", Long.MAX_VALUE, 10));
+  }
+
+  @Test
+  void searchShouldMatchAllWordsIgnoringCaseAndPlurals() {
+    assertEquals(List.of(3L), searchIndex.search("SOFTWARE designs", 0, 10).getContent());
+    assertEquals(List.of(), searchIndex.search("software refactoring", 0, 10).getContent());
+  }
+
+  @Test
+  void searchShouldReturnNextOffsetWhenThereAreMoreMatches() {
+
+    // when
+    Slice<Long> firstPage = searchIndex.search("code", 0, 1);
+    Slice<Long> secondPage = searchIndex.search("code", firstPage.getNextPosition(), 1);
+
+    // then
+    assertEquals(List.of(1L), firstPage.getContent());
+    assertTrue(firstPage.hasNext());
+    assertEquals(List.of(2L), secondPage.getContent());
+    assertFalse(secondPage.hasNext());
+  }
+
+  @Test
+  void putShouldReindexEntityModifiedInPlace() {
+
+    // given
+    Book book = store.get(2L);
+    book.setDescription("Improving the structure of existing programs");
+
+    // when
+    store.put(2L, book);
+
+    // then
+    assertEquals(List.of(1L), searchIndex.search("code", 0, 10).getContent());
+    assertEquals(List.of(2L), searchIndex.search("program", 0, 10).getContent());
+  }
+
+  @Test
+  void removeShouldDropEntityFromResults() {
+
+    // when
+    store.remove(1L);
+
+    // then
+    assertEquals(List.of(2L), searchIndex.search("code", 0, 10).getContent());
+    assertEquals(List.of(), searchIndex.search("handbook", 0, 10).getContent());
+  }
+
+  private static Book book(long id, String title, String description) {
+    Book book = new Book();
+    book.setId(id);
+    book.setTitle(title);
+    book.setDescription(description);
+    return book;
+  }
+}
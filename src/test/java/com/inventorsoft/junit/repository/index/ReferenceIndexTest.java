@@ -0,0 +1,88 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class ReferenceIndexTest {
+
+  static final long AUTHOR_ID = 1L;
+  static final long OTHER_AUTHOR_ID = 2L;
+
+  ConcurrentEntityStore<Book> store = new ConcurrentEntityStore<>();
+  ReferenceIndex<Book> authorIndex = new ReferenceIndex<>(book -> book.getAuthor().getId());
+
+  @BeforeEach
+  void setUp() {
+    store.addListener(authorIndex);
+    for (long id = 1; id <= 5; id++) {
+      store.put(id, book(id, AUTHOR_ID));
+    }
+  }
+
+  @Test
+  void findIds_paginatesInIdOrder() {
+    // when
+    Slice<Long> first = authorIndex.findIds(AUTHOR_ID, null, 2);
+    Slice<Long> second = authorIndex.findIds(AUTHOR_ID, first.getNextPosition(), 2);
+    Slice<Long> last = authorIndex.findIds(AUTHOR_ID, second.getNextPosition(), 2);
+
+    // then
+    assertEquals(List.of(1L, 2L), first.getContent());
+    assertEquals(List.of(3L, 4L), second.getContent());
+    assertEquals(List.of(5L), last.getContent());
+    assertNull(last.getNextPosition());
+  }
+
+  @Test
+  void onPut_movesIdToNewReference() {
+    // given
+    Book book = store.get(3L);
+    book.setAuthor(author(OTHER_AUTHOR_ID));
+
+    // when
+    store.put(3L, book);
+
+    // then
+    assertEquals(List.of(1L, 2L, 4L, 5L), authorIndex.findAllIds(AUTHOR_ID));
+    assertEquals(List.of(3L), authorIndex.findAllIds(OTHER_AUTHOR_ID));
+  }
+
+  @Test
+  void onRemove_dropsEmptyReference() {
+    // when
+    for (long id = 1; id <= 5; id++) {
+      store.remove(id);
+    }
+
+    // then
+    assertFalse(authorIndex.contains(AUTHOR_ID));
+    assertTrue(authorIndex.findIds(AUTHOR_ID, null, 10).getContent().isEmpty());
+  }
+
+  private static Book book(long id, long authorId) {
+    Book book = new Book();
+    book.setId(id);
+    book.setAuthor(author(authorId));
+    return book;
+  }
+
+  private static Author author(long id) {
+    Author author = new Author();
+    author.setId(id);
+    return author;
+  }
+}
@@ -0,0 +1,74 @@
+package com.inventorsoft.junit.repository.index;
+
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class UniqueIndexTest {
+
+  static final String TITLE = "Clean Code";
+
+  ConcurrentEntityStore<Book> store = new ConcurrentEntityStore<>();
+  UniqueIndex<Book> titleIndex = new UniqueIndex<>(Book::getTitle, true);
+
+  @BeforeEach
+  void setUp() {
+    store.addListener(titleIndex);
+    store.put(1L, book(1L, TITLE));
+  }
+
+  @Test
+  void findIdShouldIgnoreSurroundingSpacesAndCase() {
+    assertEquals(Optional.of(1L), titleIndex.findId("  clean code "));
+  }
+
+  @Test
+  void putShouldReindexEntityModifiedInPlace() {
+
+    // given
+    Book book = store.get(1L);
+    book.setTitle("Refactoring");
+
+    // when
+    store.put(1L, book);
+
+    // then
+    assertFalse(titleIndex.contains(TITLE));
+    assertTrue(titleIndex.contains("Refactoring"));
+  }
+
+  @Test
+  void putShouldThrowRuntimeExceptionAndKeepStoreUnchangedWhenValueIsUsed() {
+    assertThrows(RuntimeException.class, () -> store.put(2L, book(2L, TITLE)));
+    assertFalse(store.contains(2L));
+    assertEquals(Optional.of(1L), titleIndex.findId(TITLE));
+  }
+
+  @Test
+  void removeShouldDropKey() {
+
+    // when
+    store.remove(1L);
+
+    // then
+    assertFalse(titleIndex.contains(TITLE));
+  }
+
+  private static Book book(Long id, String title) {
+    Book book = new Book();
+    book.setId(id);
+    book.setTitle(title);
+    return book;
+  }
+}
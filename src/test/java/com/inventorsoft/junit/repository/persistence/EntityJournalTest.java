@@ -0,0 +1,95 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.RepositoryProperties;
+import com.inventorsoft.junit.repository.store.ConcurrentEntityStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EntityJournalTest {
+
+  static final LocalDate BIRTHDAY = LocalDate.of(1950, 1, 1);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void recoverShouldRestoreSnapshotAndLogTail() throws IOException {
+
+    // given
+    EntityJournal<Author> journal = openJournal(FsyncPolicy.ALWAYS);
+    ConcurrentEntityStore<Author> store = new ConcurrentEntityStore<>();
+    journal.recover();
+    store.setJournal(journal);
+
+    store.put(0L, author(0L, "First"));
+    store.put(1L, author(1L, "Second"));
+    journal.snapshot(store.stream(), () -> 1L);
+
+    store.put(2L, author(2L, "Third"));
+    store.remove(1L);
+    store.put(0L, author(0L, "First renamed"));
+    journal.close();
+
+    // when
+    EntityJournal<Author> reopened = openJournal(FsyncPolicy.ALWAYS);
+    List<Author> recovered = reopened.recover();
+    reopened.close();
+
+    // then
+    assertEquals(List.of("First renamed", "Third"), recovered.stream().map(Author::getName).toList());
+    assertEquals(BIRTHDAY, recovered.get(0).getBirthday());
+    assertEquals(2L, reopened.getRecoveredLastIssuedId());
+  }
+
+  @Test
+  void recoverShouldIgnoreTornRecordAtTheEndOfLog() throws IOException {
+
+    // given
+    EntityJournal<Author> journal = openJournal(FsyncPolicy.BATCH);
+    journal.recover();
+    journal.logPut(0L, author(0L, "First"));
+    journal.close();
+
+    try (Stream<Path> files = Files.list(directory)) {
+      Path segment = files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+      Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+    }
+
+    // when
+    EntityJournal<Author> reopened = openJournal(FsyncPolicy.BATCH);
+    List<Author> recovered = reopened.recover();
+    reopened.logPut(1L, author(1L, "Second"));
+    reopened.close();
+
+    // then
+    assertEquals(1, recovered.size());
+    EntityJournal<Author> reopenedAgain = openJournal(FsyncPolicy.BATCH);
+    assertEquals(2, reopenedAgain.recover().size());
+    reopenedAgain.close();
+  }
+
+  private EntityJournal<Author> openJournal(FsyncPolicy fsyncPolicy) {
+    RepositoryProperties.Persistence settings = new RepositoryProperties.Persistence();
+    settings.setFsyncPolicy(fsyncPolicy);
+    return new EntityJournal<>(directory, "authors", new AuthorCodec(), settings);
+  }
+
+  private static Author author(Long id, String name) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName(name);
+    author.setBirthday(BIRTHDAY);
+    return author;
+  }
+}
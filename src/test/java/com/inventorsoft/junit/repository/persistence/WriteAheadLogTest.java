@@ -0,0 +1,65 @@
+package com.inventorsoft.junit.repository.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadLogTest {
+
+  static final byte TYPE = 1;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void appendShouldQueueRecordOfInterruptedThreadAndKeepInterrupt() throws IOException {
+
+    // given
+    WriteAheadLog log = openLog();
+
+    // when
+    long lsn = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+      Thread.currentThread().interrupt();
+      try {
+        return log.append(TYPE, 0L, new byte[] {1});
+      } finally {
+        assertTrue(Thread.interrupted());
+      }
+    });
+    log.awaitDurable(lsn);
+    log.close();
+
+    // then
+    List<WalRecord> records = new ArrayList<>();
+    WriteAheadLog.replay(directory, "test", 0L, records::add);
+    assertEquals(1, records.size());
+    assertEquals(lsn, records.get(0).getLsn());
+  }
+
+  @Test
+  void appendShouldFailAfterClose() throws IOException {
+
+    // given
+    WriteAheadLog log = openLog();
+    log.close();
+
+    // when
+    // then
+    assertThrows(IllegalStateException.class, () -> log.append(TYPE, 0L, new byte[] {1}));
+    assertThrows(IllegalStateException.class, log::rotate);
+  }
+
+  private WriteAheadLog openLog() throws IOException {
+    return new WriteAheadLog(directory, "test", 0L, FsyncPolicy.ALWAYS, Duration.ofMillis(10));
+  }
+}
@@ -0,0 +1,125 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.persistence.AuthorCodec;
+import com.inventorsoft.junit.repository.persistence.WalRecord;
+import com.inventorsoft.junit.repository.store.StoreJournal;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationLogTest {
+
+  @Test
+  void pollShouldReturnChangesInOrderTheyWereNumbered() throws Exception {
+
+    // given
+    ReplicationLog log = new ReplicationLog(16);
+    StoreJournal<Author> journal = log.journal(ReplicationFrame.AUTHORS, new AuthorCodec());
+    ReplicationLog.Subscriber subscriber = log.subscribe();
+
+    // the first writer is numbered first, but publishes after the second one
+    CountDownLatch logged = new CountDownLatch(1);
+    CountDownLatch publish = new CountDownLatch(1);
+    CompletableFuture<Void> firstWriter = CompletableFuture.runAsync(() -> {
+      journal.logPut(1L, author(1L));
+      logged.countDown();
+      await(publish);
+      journal.awaitCommitted();
+    });
+    assertTrue(logged.await(5, TimeUnit.SECONDS));
+    journal.logRemove(2L);
+    journal.awaitCommitted();
+
+    // when
+    byte[] beforeFirstPublished = subscriber.poll(50, TimeUnit.MILLISECONDS);
+    publish.countDown();
+    firstWriter.get(5, TimeUnit.SECONDS);
+    WalRecord first = read(subscriber.poll(5, TimeUnit.SECONDS));
+    WalRecord second = read(subscriber.poll(5, TimeUnit.SECONDS));
+
+    // then
+    assertNull(beforeFirstPublished);
+    assertEquals(1L, first.getId());
+    assertEquals(WalRecord.PUT, first.getType());
+    assertEquals(2L, second.getId());
+    assertEquals(WalRecord.REMOVE, second.getType());
+    assertFalse(subscriber.hasPending());
+  }
+
+  @Test
+  void subscriberShouldBeLaggingWhenItFallsBufferSizeBehind() {
+
+    // given
+    ReplicationLog log = new ReplicationLog(4);
+    StoreJournal<Author> journal = log.journal(ReplicationFrame.AUTHORS, new AuthorCodec());
+    ReplicationLog.Subscriber subscriber = log.subscribe();
+    subscriber.startStreaming();
+
+    // when
+    for (long id = 0; id < 4; id++) {
+      journal.logPut(id, author(id));
+      journal.awaitCommitted();
+    }
+
+    // then
+    assertFalse(subscriber.isLagging());
+    journal.logPut(4L, author(4L));
+    journal.awaitCommitted();
+    assertTrue(subscriber.isLagging());
+  }
+
+  @Test
+  void changesMadeWhileSnapshotIsSentShouldNotCountAgainstBuffer() throws Exception {
+
+    // given
+    ReplicationLog log = new ReplicationLog(4);
+    StoreJournal<Author> journal = log.journal(ReplicationFrame.AUTHORS, new AuthorCodec());
+    ReplicationLog.Subscriber subscriber = log.subscribe();
+
+    // when
+    for (long id = 0; id < 10; id++) {
+      journal.logPut(id, author(id));
+      journal.awaitCommitted();
+    }
+    subscriber.startStreaming();
+
+    // then
+    assertFalse(subscriber.isLagging());
+    for (long id = 0; id < 10; id++) {
+      assertEquals(id, read(subscriber.poll(5, TimeUnit.SECONDS)).getId());
+    }
+    assertFalse(subscriber.hasPending());
+  }
+
+  private static WalRecord read(byte[] frame) throws IOException {
+    return ReplicationFrame.read(new DataInputStream(new ByteArrayInputStream(frame))).getRecord();
+  }
+
+  private static Author author(long id) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName("Author " + id);
+    author.setBirthday(LocalDate.of(1950, 1, 1));
+    return author;
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package com.inventorsoft.junit.repository.replication;
+
+import com.inventorsoft.junit.JunitApplication;
+import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
+import com.inventorsoft.junit.dto.request.CreateBookRequest;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.AuthorService;
+import com.inventorsoft.junit.service.BookService;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Leader and followers running on localhost.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ReplicationTest {
+
+  final HttpClient client = HttpClient.newHttpClient();
+  final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+  ConfigurableApplicationContext leader;
+
+  @BeforeEach
+  void setUp() {
+    leader = start("repository.replication.role=leader", "repository.replication.port=0");
+  }
+
+  @AfterEach
+  void tearDown() {
+    contexts.forEach(ConfigurableApplicationContext::close);
+  }
+
+  @Test
+  void followerShouldLoadEntitiesStoredBeforeItConnected() {
+
+    // given
+    long authorId = leader.getBean(AuthorService.class).create(authorRequest("Existing Author"));
+
+    // when
+    ConfigurableApplicationContext follower = startFollower();
+
+    // then
+    awaitTrue(() -> follower.getBean(ReplicationFollower.class).isSynchronized());
+    assertEquals("Existing Author", follower.getBean(AuthorRepository.class).findById(authorId).orElseThrow().getName());
+  }
+
+  @Test
+  void writesToFollowerShouldBeForwardedToLeaderAndReplicated() throws Exception {
+
+    // given
+    ConfigurableApplicationContext follower = startFollower();
+    awaitTrue(() -> follower.getBean(ReplicationFollower.class).isSynchronized());
+    String followerUrl = urlOf(follower);
+
+    // when
+    HttpResponse<String> createdAuthor = send(followerUrl + "/authors", "POST",
+        "{\"name\":\"Replicated Author\",\"birthday\":\"1970-01-01\"}");
+    long authorId = Long.parseLong(createdAuthor.body());
+    HttpResponse<String> createdBook = send(followerUrl + "/books", "POST",
+        "{\"title\":\"Replicated\",\"description\":\"Replicated\",\"releaseDate\":\"2000-01-01\",\"authorId\":"
+            + authorId + "}");
+    long bookId = Long.parseLong(createdBook.body());
+
+    // then
+    assertEquals(201, createdBook.statusCode());
+    assertTrue(leader.getBean(BookRepository.class).existsById(bookId));
+    BookRepository followerBooks = follower.getBean(BookRepository.class);
+    awaitTrue(() -> followerBooks.existsById(bookId));
+    assertEquals(authorId, followerBooks.findById(bookId).orElseThrow().getAuthor().getId());
+    assertTrue(followerBooks.existsByTitle("Replicated"));
+
+    // when
+    send(followerUrl + "/books/" + bookId, "DELETE", "");
+
+    // then
+    awaitTrue(() -> !followerBooks.existsById(bookId));
+    assertFalse(leader.getBean(BookRepository.class).existsById(bookId));
+  }
+
+  @Test
+  void followerShouldResynchronizeAfterTitlesWereSwappedWhileDisconnected() throws Exception {
+
+    // given
+    long authorId = leader.getBean(AuthorService.class).create(authorRequest("Swapping Author"));
+    BookService bookService = leader.getBean(BookService.class);
+    long firstId = bookService.create(bookRequest("First", authorId));
+    long secondId = bookService.create(bookRequest("Second", authorId));
+
+    ConfigurableApplicationContext follower = startFollower();
+    ReplicationFollower replication = follower.getBean(ReplicationFollower.class);
+    awaitTrue(replication::isSynchronized);
+    replication.stop();
+
+    // the snapshot carries the first book titled "Second" while the follower still has the second one titled so
+    BookRepository leaderBooks = leader.getBean(BookRepository.class);
+    rename(leaderBooks, secondId, "Third");
+    rename(leaderBooks, firstId, "Second");
+
+    // when
+    replication.start();
+
+    // then
+    awaitTrue(replication::isSynchronized);
+    BookRepository followerBooks = follower.getBean(BookRepository.class);
+    assertEquals(firstId, followerBooks.findByTitle("Second").orElseThrow().getId());
+    assertEquals(secondId, followerBooks.findByTitle("Third").orElseThrow().getId());
+    assertFalse(followerBooks.existsByTitle("First"));
+  }
+
+  private static void rename(BookRepository repository, long id, String title) {
+    Book book = repository.findById(id).orElseThrow().copy();
+    book.setTitle(title);
+    repository.save(book);
+  }
+
+  private ConfigurableApplicationContext startFollower() {
+    return start("repository.replication.role=follower",
+        "repository.replication.leader-port=" + leader.getBean(ReplicationLeader.class).getPort(),
+        "repository.replication.leader-url=" + urlOf(leader),
+        "repository.replication.reconnect-interval=100ms");
+  }
+
+  private ConfigurableApplicationContext start(String... properties) {
+    String[] arguments = Stream.concat(Stream.of("server.port=0", "logging.level.root=warn"), Stream.of(properties))
+        .map(property -> "--" + property)
+        .toArray(String[]::new);
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(JunitApplication.class).run(arguments);
+    contexts.add(context);
+    return context;
+  }
+
+  private static String urlOf(ConfigurableApplicationContext context) {
+    return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+  }
+
+  private HttpResponse<String> send(String url, String method, String body)
+      throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+        .header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static CreateAuthorRequest authorRequest(String name) {
+    CreateAuthorRequest request = new CreateAuthorRequest();
+    request.setName(name);
+    request.setBirthday(LocalDate.of(1970, 1, 1));
+    return request;
+  }
+
+  private static CreateBookRequest bookRequest(String title, long authorId) {
+    CreateBookRequest request = new CreateBookRequest();
+    request.setTitle(title);
+    request.setDescription(title);
+    request.setReleaseDate(LocalDate.of(2000, 1, 1));
+    request.setAuthorId(authorId);
+    return request;
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Condition was not met within 10 seconds");
+      }
+      Thread.onSpinWait();
+    }
+  }
+}
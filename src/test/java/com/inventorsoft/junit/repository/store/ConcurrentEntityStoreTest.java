@@ -0,0 +1,199 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.index.UniqueIndex;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class ConcurrentEntityStoreTest {
+
+  ConcurrentEntityStore<String> store = new ConcurrentEntityStore<>();
+
+  @Test
+  void valuesShouldKeepInsertionOrder() {
+
+    // given
+    store.put(3L, "third");
+    store.put(1L, "first");
+    store.put(2L, "second");
+
+    // when
+    store.put(3L, "third updated");
+
+    // then
+    assertEquals(List.of("third updated", "first", "second"), store.values());
+  }
+
+  @Test
+  void valuesShouldBeReusedUntilNextWrite() {
+
+    // given
+    store.put(1L, "first");
+    List<String> values = store.values();
+
+    // when
+    List<String> unchanged = store.values();
+    store.put(2L, "second");
+    List<String> changed = store.values();
+
+    // then
+    assertSame(values, unchanged);
+    assertEquals(List.of("first", "second"), changed);
+  }
+
+  @Test
+  void putIfShouldKeepStoredEntityWhenConditionFails() {
+
+    // given
+    store.put(1L, "first");
+
+    // when
+    boolean put = store.putIf(1L, "updated", current -> current.equals("other"));
+
+    // then
+    assertFalse(put);
+    assertEquals("first", store.get(1L));
+  }
+
+  @Test
+  void removeShouldReturnRemovedEntity() {
+
+    // given
+    store.put(1L, "first");
+
+    // when
+    String removed = store.remove(1L);
+
+    // then
+    assertEquals("first", removed);
+    assertFalse(store.contains(1L));
+    assertNull(store.remove(1L));
+    assertTrue(store.values().isEmpty());
+  }
+
+  @Test
+  void sliceShouldContinueAfterGivenPosition() {
+
+    // given
+    store.put(1L, "first");
+    store.put(2L, "second");
+    store.put(3L, "third");
+
+    // when
+    Slice<String> firstSlice = store.slice(null, 2);
+    Slice<String> secondSlice = store.slice(firstSlice.getNextPosition(), 2);
+
+    // then
+    assertEquals(List.of("first", "second"), firstSlice.getContent());
+    assertEquals(List.of("third"), secondSlice.getContent());
+    assertFalse(secondSlice.hasNext());
+  }
+
+  @Test
+  void concurrentWritesShouldNotBeLost() throws InterruptedException {
+
+    // given
+    int threads = 8;
+    int perThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+
+    // when
+    for (int thread = 0; thread < threads; thread++) {
+      long offset = (long) thread * perThread;
+      executor.execute(() -> {
+        awaitQuietly(start);
+        LongStream.range(offset, offset + perThread).forEach(id -> store.put(id, "value-" + id));
+      });
+    }
+    start.countDown();
+    executor.shutdown();
+
+    // then
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertEquals(threads * perThread, store.size());
+    assertEquals(threads * perThread, store.values().size());
+  }
+
+  @Test
+  void putShouldBeUndoneWhenJournalFails() {
+
+    // given
+    UniqueIndex<String> index = new UniqueIndex<>(value -> value, false);
+    store.addListener(index);
+    store.put(1L, "first");
+    store.setJournal(new FailingJournal());
+
+    // when
+    assertThrows(IllegalStateException.class, () -> store.put(1L, "first updated"));
+    assertThrows(IllegalStateException.class, () -> store.put(2L, "second"));
+
+    // then
+    assertEquals(List.of("first"), store.values());
+    assertNull(store.get(2L));
+    assertEquals(1L, store.highestId());
+    assertEquals(Optional.of(1L), index.findId("first"));
+    assertFalse(index.contains("first updated"));
+    assertFalse(index.contains("second"));
+  }
+
+  @Test
+  void removeShouldBeUndoneWhenJournalFails() {
+
+    // given
+    UniqueIndex<String> index = new UniqueIndex<>(value -> value, false);
+    store.addListener(index);
+    store.put(1L, "first");
+    store.setJournal(new FailingJournal());
+
+    // when
+    assertThrows(IllegalStateException.class, () -> store.remove(1L));
+
+    // then
+    assertEquals(List.of("first"), store.values());
+    assertEquals("first", store.get(1L));
+    assertEquals(Optional.of(1L), index.findId("first"));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static class FailingJournal implements StoreJournal<String> {
+
+    @Override
+    public void logPut(long id, String entity) {
+      throw new IllegalStateException("Journal is not writable");
+    }
+
+    @Override
+    public void logRemove(long id) {
+      throw new IllegalStateException("Journal is not writable");
+    }
+
+    @Override
+    public void awaitCommitted() {
+    }
+  }
+}
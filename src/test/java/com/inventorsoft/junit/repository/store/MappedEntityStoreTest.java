@@ -0,0 +1,179 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.persistence.AuthorCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedEntityStoreTest {
+
+  static final int SEGMENT_SIZE = 256;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void reopenedStoreShouldContainLastVersionOfEntities() {
+
+    // given
+    MappedEntityStore<Author> store = openStore();
+    store.put(0L, author(0L, "First"));
+    store.put(1L, author(1L, "Second"));
+    store.put(2L, author(2L, "Third"));
+    store.put(0L, author(0L, "First renamed"));
+    store.remove(1L);
+
+    // when
+    MappedEntityStore<Author> reopened = openStore();
+
+    // then
+    assertEquals(List.of("First renamed", "Third"), reopened.values().stream().map(Author::getName).toList());
+    assertNull(reopened.get(1L));
+    assertEquals(2L, reopened.highestId());
+  }
+
+  @Test
+  void putShouldContinueInNextSegmentWhenCurrentIsFull() {
+
+    // given
+    MappedEntityStore<Author> store = openStore();
+
+    // when
+    for (long id = 0; id < 50; id++) {
+      store.put(id, author(id, "Author " + id));
+    }
+
+    // then
+    MappedEntityStore<Author> reopened = openStore();
+    assertEquals(50, reopened.size());
+    assertEquals("Author 42", reopened.get(42L).getName());
+  }
+
+  @Test
+  void reopenShouldSkipAbortedAppendAndReplayRecordsWrittenAfterIt() throws IOException {
+
+    // given
+    MappedEntityStore<Author> store = openStore();
+    store.put(0L, author(0L, "A"));
+    store.put(1L, author(1L, "B"));
+    store.put(2L, author(2L, "C"));
+    store.remove(0L);
+    for (long id = 3; id < 20; id++) {
+      store.put(id, author(id, "Author " + id));
+    }
+    store.close();
+
+    // the append of second record was aborted after its space was reserved, records after it were acknowledged
+    Path segment = directory.resolve("authors-000000.dat");
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+    int abortedOffset = content.getInt(0);
+    content.put(abortedOffset + MappedEntityStore.STATE_OFFSET, (byte) 0);
+    Files.write(segment, content.array());
+
+    // when
+    MappedEntityStore<Author> reopened = openStore();
+    reopened.put(20L, author(20L, "D"));
+    reopened.close();
+
+    // then
+    MappedEntityStore<Author> reopenedAgain = openStore();
+    assertNull(reopenedAgain.get(0L));
+    assertNull(reopenedAgain.get(1L));
+    assertEquals("C", reopenedAgain.get(2L).getName());
+    assertEquals("Author 19", reopenedAgain.get(19L).getName());
+    assertEquals("D", reopenedAgain.get(20L).getName());
+    assertEquals(19, reopenedAgain.size());
+    reopenedAgain.close();
+  }
+
+  @Test
+  void reopenShouldStopAtRecordWithInvalidLength() throws IOException {
+
+    // given
+    MappedEntityStore<Author> store = openStore();
+    store.put(0L, author(0L, "A"));
+    store.put(1L, author(1L, "B"));
+    store.put(2L, author(2L, "C"));
+    store.close();
+
+    // the extent of records after the second one can't be known
+    Path segment = directory.resolve("authors-000000.dat");
+    ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+    content.putInt(content.getInt(0), 1);
+    Files.write(segment, content.array());
+
+    // when
+    MappedEntityStore<Author> reopened = openStore();
+    reopened.put(3L, author(3L, "D"));
+    reopened.close();
+
+    // then
+    MappedEntityStore<Author> reopenedAgain = openStore();
+    assertEquals(List.of("A", "D"), reopenedAgain.values().stream().map(Author::getName).toList());
+    assertNull(reopenedAgain.get(2L));
+    reopenedAgain.close();
+  }
+
+  @Test
+  void changesShouldBeUndoneWhenJournalFails() {
+
+    // given
+    MappedEntityStore<Author> store = openStore();
+    store.put(0L, author(0L, "A"));
+    store.put(1L, author(1L, "B"));
+    store.setJournal(new FailingJournal());
+
+    // when
+    assertThrows(IllegalStateException.class, () -> store.put(0L, author(0L, "A renamed")));
+    assertThrows(IllegalStateException.class, () -> store.put(2L, author(2L, "C")));
+    assertThrows(IllegalStateException.class, () -> store.remove(1L));
+
+    // then
+    assertEquals(List.of("A", "B"), store.values().stream().map(Author::getName).toList());
+    store.close();
+    MappedEntityStore<Author> reopened = openStore();
+    assertEquals(List.of("A", "B"), reopened.values().stream().map(Author::getName).toList());
+    assertNull(reopened.get(2L));
+    reopened.close();
+  }
+
+  private MappedEntityStore<Author> openStore() {
+    return new MappedEntityStore<>(directory, "authors", new AuthorCodec(), SEGMENT_SIZE);
+  }
+
+  private static Author author(Long id, String name) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName(name);
+    author.setBirthday(LocalDate.of(1950, 1, 1));
+    return author;
+  }
+
+  static class FailingJournal implements StoreJournal<Author> {
+
+    @Override
+    public void logPut(long id, Author entity) {
+      throw new IllegalStateException("Journal is not writable");
+    }
+
+    @Override
+    public void logRemove(long id) {
+      throw new IllegalStateException("Journal is not writable");
+    }
+
+    @Override
+    public void awaitCommitted() {
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.inventorsoft.junit.repository.store;
+
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.index.UniqueIndex;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class ShardedEntityStoreTest {
+
+  ShardedEntityStore<String> store = new ShardedEntityStore<>(3);
+
+  @Test
+  void valuesShouldGatherPartitionsInOrder() {
+
+    // given
+    LongStream.range(0, 6).forEach(id -> store.put(id, "value-" + id));
+
+    // when
+    List<String> values = store.values();
+
+    // then
+    assertEquals(List.of("value-0", "value-3", "value-1", "value-4", "value-2", "value-5"), values);
+    assertSame(values, store.values());
+    assertEquals(6, store.size());
+    assertEquals(5, store.highestId());
+  }
+
+  @Test
+  void sliceShouldContinueAcrossPartitions() {
+
+    // given
+    LongStream.range(0, 7).forEach(id -> store.put(id, "value-" + id));
+
+    // when
+    List<String> content = new ArrayList<>();
+    Slice<String> slice = store.slice(null, 2);
+    content.addAll(slice.getContent());
+    while (slice.hasNext()) {
+      slice = store.slice(slice.getNextPosition(), 2);
+      content.addAll(slice.getContent());
+    }
+
+    // then
+    assertEquals(store.values(), content);
+  }
+
+  @Test
+  void sliceShouldEndWhenRemainingPartitionsAreEmpty() {
+
+    // given
+    store.put(0L, "first");
+    store.put(3L, "second");
+
+    // when
+    Slice<String> slice = store.slice(null, 2);
+
+    // then
+    assertEquals(List.of("first", "second"), slice.getContent());
+    assertFalse(slice.hasNext());
+  }
+
+  @Test
+  void listenerShouldRejectDuplicatesAcrossPartitions() {
+
+    // given
+    store.addListener(new UniqueIndex<>(Function.identity(), false));
+    store.put(1L, "title");
+
+    // when
+    assertThrows(RuntimeException.class, () -> store.put(2L, "title"));
+
+    // then
+    assertFalse(store.contains(2L));
+    assertTrue(store.contains(1L));
+  }
+
+  @Test
+  void constructorShouldThrowIllegalArgumentExceptionWhenThereAreNoPartitions() {
+    assertThrows(IllegalArgumentException.class, () -> new ShardedEntityStore<>(0));
+  }
+}
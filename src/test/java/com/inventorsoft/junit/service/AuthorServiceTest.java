@@ -2,24 +2,47 @@ package com.inventorsoft.junit.service;
 
 import com.inventorsoft.junit.dto.request.CreateAuthorRequest;
 import com.inventorsoft.junit.dto.response.AuthorResponse;
+import com.inventorsoft.junit.dto.response.BulkCreateResponse;
+import com.inventorsoft.junit.dto.response.BulkItemError;
+import com.inventorsoft.junit.dto.response.PageResponse;
 import com.inventorsoft.junit.mapper.AuthorMapper;
 import com.inventorsoft.junit.model.Author;
 import com.inventorsoft.junit.repository.AuthorRepository;
+import com.inventorsoft.junit.repository.RejectedBatchItemException;
+import com.inventorsoft.junit.repository.Slice;
+import com.inventorsoft.junit.repository.index.DuplicateValueException;
+import com.inventorsoft.junit.service.cache.AuthorJsonCache;
+import com.inventorsoft.junit.service.pipeline.AuthorLocks;
+import com.inventorsoft.junit.service.pipeline.WritePipeline;
+import com.inventorsoft.junit.service.pipeline.WritePipelineProperties;
+import com.inventorsoft.junit.util.pagination.Pagination;
+import com.inventorsoft.junit.util.validation.AuthorBatchValidator;
+import com.inventorsoft.junit.util.validation.BatchSize;
+import com.inventorsoft.junit.util.validation.BatchTooLargeException;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +61,21 @@ class AuthorServiceTest {
   @Mock
   AuthorMapper authorMapper;
 
+  @Mock
+  AuthorBatchValidator authorBatchValidator;
+
+  @Mock
+  AuthorJsonCache authorJsonCache;
+
+  @Mock
+  BookService bookService;
+
+  @Spy
+  AuthorLocks authorLocks = new AuthorLocks();
+
+  @Spy
+  WritePipeline writePipeline = new WritePipeline(new WritePipelineProperties());
+
   @InjectMocks
   AuthorService authorService;
 
@@ -50,7 +88,7 @@ class AuthorServiceTest {
     author.setName(NAME);
     author.setBirthday(BIRTHDAY);
 
-    when(authorRepository.findById(ID)).thenReturn(Optional.of(author));
+    when(authorRepository.getOrNull(ID)).thenReturn(author);
 
     AuthorResponse authorResponse = new AuthorResponse();
     authorResponse.setId(ID);
@@ -70,7 +108,7 @@ class AuthorServiceTest {
   void getByIdShouldThrowRuntimeExceptionWhenNotFound() {
 
     // given
-    when(authorRepository.findById(ID)).thenReturn(Optional.empty());
+    when(authorRepository.getOrNull(ID)).thenReturn(null);
 
     // when
     RuntimeException exception = assertThrows(RuntimeException.class, () -> authorService.getById(ID));
@@ -79,6 +117,16 @@ class AuthorServiceTest {
     assertEquals("Not found by id: " + ID, exception.getMessage());
   }
 
+  @Test
+  void getByIdShouldThrowRuntimeExceptionWhenIdIsNull() {
+
+    // when
+    RuntimeException exception = assertThrows(RuntimeException.class, () -> authorService.getById((Long) null));
+
+    // then
+    assertEquals("Not found by id: null", exception.getMessage());
+  }
+
   @Test
   void getAll() {
 
@@ -109,6 +157,34 @@ class AuthorServiceTest {
     assertArrayEquals(authorResponses.toArray(), givenResults.toArray());
   }
 
+  @Test
+  void getPage() {
+
+    // given
+    Author author = new Author();
+    author.setId(ID);
+    author.setName(NAME);
+    author.setBirthday(BIRTHDAY);
+
+    List<Author> authors = List.of(author);
+
+    when(authorRepository.findAfter(5L, 1)).thenReturn(new Slice<>(authors, 7L));
+
+    AuthorResponse authorResponse = new AuthorResponse();
+    authorResponse.setId(ID);
+    authorResponse.setName(NAME);
+    authorResponse.setBirthDate(BIRTHDAY);
+
+    when(authorMapper.mapEntitiesToResponses(authors)).thenReturn(List.of(authorResponse));
+
+    // when
+    PageResponse<AuthorResponse> givenResult = authorService.getPage(Pagination.encodeCursor(5L), 1);
+
+    // then
+    assertEquals(List.of(authorResponse), givenResult.getItems());
+    assertEquals(7L, Pagination.decodeCursor(givenResult.getNextCursor()));
+  }
+
   @Test
   void create() {
 
@@ -135,9 +211,126 @@ class AuthorServiceTest {
     verify(authorRepository, times(1)).save(author);
   }
 
+  @Test
+  void createAll() {
+
+    // given
+    CreateAuthorRequest request = new CreateAuthorRequest();
+    request.setName(NAME);
+    request.setBirthday(BIRTHDAY);
+
+    List<CreateAuthorRequest> requests = List.of(request);
+
+    Author author = new Author();
+    author.setName(NAME);
+    author.setBirthday(BIRTHDAY);
+
+    when(authorBatchValidator.validate(requests)).thenReturn(List.of());
+    when(authorMapper.mapCreateRequestToEntity(request)).thenReturn(author);
+
+    author.setId(ID);
+
+    when(authorRepository.saveAll(List.of(author))).thenReturn(List.of(author));
+
+    // when
+    BulkCreateResponse response = authorService.createAll(requests);
+
+    // then
+    assertTrue(response.isCreated());
+    assertEquals(List.of(ID), response.getIds());
+  }
+
+  @Test
+  void createAllShouldNotSaveAnythingWhenBatchIsRejected() {
+
+    // given
+    List<CreateAuthorRequest> requests = List.of(new CreateAuthorRequest(), new CreateAuthorRequest());
+    List<BulkItemError> errors = List.of(new BulkItemError(1, "Name is empty"));
+
+    when(authorBatchValidator.validate(requests)).thenReturn(errors);
+
+    // when
+    BulkCreateResponse response = authorService.createAll(requests);
+
+    // then
+    assertFalse(response.isCreated());
+    assertEquals(errors, response.getErrors());
+    verify(authorRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void createAllShouldReportItemRejectedByStore() {
+
+    // given
+    CreateAuthorRequest request = new CreateAuthorRequest();
+    request.setName(NAME);
+    List<CreateAuthorRequest> requests = List.of(new CreateAuthorRequest(), request);
+
+    Author author = new Author();
+    author.setName(NAME);
+
+    when(authorBatchValidator.validate(requests)).thenReturn(List.of());
+    when(authorMapper.mapCreateRequestToEntity(any())).thenReturn(new Author(), author);
+    when(authorRepository.saveAll(anyList())).thenThrow(new RejectedBatchItemException(1,
+        new DuplicateValueException("Value is already used by entity with id 5: john doe")));
+
+    // when
+    BulkCreateResponse response = authorService.createAll(requests);
+
+    // then
+    assertFalse(response.isCreated());
+    assertEquals(1, response.getErrors().size());
+    assertEquals(1, response.getErrors().get(0).getIndex());
+    assertEquals("Value is already used by entity with id 5: john doe", response.getErrors().get(0).getMessage());
+  }
+
+  @Test
+  void createAllShouldRejectTooLargeBatch() {
+
+    // given
+    List<CreateAuthorRequest> requests = Collections.nCopies(BatchSize.MAX + 1, new CreateAuthorRequest());
+
+    // when
+    // then
+    assertThrows(BatchTooLargeException.class, () -> authorService.createAll(requests));
+    verify(authorBatchValidator, never()).validate(anyList());
+    verify(authorRepository, never()).saveAll(anyList());
+  }
+
   @Test
   void deleteById() {
     authorService.deleteById(ID);
     verify(authorRepository, times(1)).deleteById(ID);
+    verify(authorJsonCache, times(1)).invalidate(ID);
+  }
+
+  @Test
+  void deleteById_authorHasBooks() {
+    // given
+    when(bookService.existsByAuthorId(ID)).thenReturn(true);
+
+    // when
+    AuthorHasBooksException exception = assertThrows(AuthorHasBooksException.class,
+        () -> authorService.deleteById(ID));
+
+    // then
+    assertEquals("Author has books, id: " + ID, exception.getMessage());
+    verify(bookService, never()).deleteAllByAuthorId(ID);
+    verify(authorRepository, never()).deleteById(ID);
+    verify(authorJsonCache, never()).invalidate(ID);
+  }
+
+  @Test
+  void deleteById_cascade() {
+    // when
+    authorService.deleteById(ID, true);
+
+    // then
+    InOrder order = inOrder(bookService, authorRepository);
+    order.verify(bookService, times(1)).deleteAllByAuthorId(ID);
+    order.verify(authorRepository, times(1)).deleteById(ID);
+    verify(bookService, never()).existsByAuthorId(ID);
+    verify(authorJsonCache, times(1)).invalidate(ID);
+    verify(authorLocks, times(1)).exclusive(eq(ID), any());
   }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.inventorsoft.junit.service;
+
+import com.inventorsoft.junit.mapper.BookMapper;
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.BookRepository;
+import com.inventorsoft.junit.service.cache.BookJsonCache;
+import com.inventorsoft.junit.service.loader.AuthorLoader;
+import com.inventorsoft.junit.service.pipeline.AuthorLocks;
+import com.inventorsoft.junit.service.pipeline.WritePipeline;
+import com.inventorsoft.junit.service.pipeline.WritePipelineProperties;
+import com.inventorsoft.junit.util.validation.BookBatchValidator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BookServiceTest {
+
+  static final long BOOK_ID = 1L;
+  static final long AUTHOR_ID = 2L;
+  static final long NEW_AUTHOR_ID = 3L;
+
+  @Mock
+  BookRepository bookRepository;
+
+  @Mock
+  AuthorLoader authorLoader;
+
+  @Mock
+  BookMapper bookMapper;
+
+  @Mock
+  BookBatchValidator bookBatchValidator;
+
+  @Mock
+  BookJsonCache bookJsonCache;
+
+  @Spy
+  WritePipeline writePipeline = new WritePipeline(new WritePipelineProperties());
+
+  @Spy
+  AuthorLocks authorLocks = new AuthorLocks();
+
+  @InjectMocks
+  BookService bookService;
+
+  @Test
+  void changeAuthorForBookShouldInvalidateCachedBookAfterSave() {
+
+    // given
+    Book book = new Book();
+    book.setId(BOOK_ID);
+    book.setAuthor(author(AUTHOR_ID));
+    book.setVersion(1L);
+    Author newAuthor = author(NEW_AUTHOR_ID);
+    when(bookRepository.findById((Long) BOOK_ID)).thenReturn(Optional.of(book));
+    when(authorLoader.load(NEW_AUTHOR_ID)).thenReturn(Optional.of(newAuthor));
+    when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> {
+      Book saved = invocation.getArgument(0);
+      saved.setVersion(saved.getVersion() + 1);
+      return saved;
+    });
+
+    // when
+    long version = bookService.changeAuthorForBook(BOOK_ID, NEW_AUTHOR_ID, 1L);
+
+    // then
+    assertEquals(2L, version);
+    InOrder inOrder = inOrder(bookRepository, bookJsonCache);
+    inOrder.verify(bookRepository).save(any(Book.class));
+    inOrder.verify(bookJsonCache).invalidate(BOOK_ID);
+  }
+
+  private static Author author(long id) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName("Author " + id);
+    return author;
+  }
+}
@@ -0,0 +1,117 @@
+package com.inventorsoft.junit.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.model.Book;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class BookJsonCacheTest {
+
+  AuthorRepository authorRepository = new AuthorRepository();
+  BookJsonCache cache = new BookJsonCache(new ResponseCacheProperties(), new ObjectMapper()
+      .registerModule(new JavaTimeModule()), authorRepository);
+  AtomicInteger renders = new AtomicInteger();
+  Function<Book, Object> mapper = book -> {
+    renders.incrementAndGet();
+    return Map.of("id", book.getId(), "title", book.getTitle(), "author", book.getAuthor().getName());
+  };
+
+  Function<Book, Object> authorMapper = book -> {
+    renders.incrementAndGet();
+    return Map.of("id", book.getId(), "author", authorRepository.findById(book.getAuthor().getId())
+        .orElseThrow().getName());
+  };
+
+  @NonFinal
+  Book book;
+
+  @BeforeEach
+  void setUp() {
+    Author author = new Author();
+    author.setName("John Doe");
+    authorRepository.save(author);
+
+    book = new Book();
+    book.setId(2L);
+    book.setTitle("Clean Code");
+    book.setAuthor(author);
+  }
+
+  @Test
+  void getShouldRenderUnchangedBookOnlyOnce() {
+
+    // when
+    byte[] first = cache.get(book, mapper);
+    byte[] second = cache.get(book, mapper);
+
+    // then
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+    assertEquals(1, cache.stats().getHitCount());
+  }
+
+  @Test
+  void getShouldRenderAgainWhenBookVersionChanges() {
+
+    // given
+    cache.get(book, mapper);
+
+    // when
+    book.setTitle("Refactoring");
+    book.setVersion(book.getVersion() + 1);
+    String json = new String(cache.get(book, mapper), StandardCharsets.UTF_8);
+
+    // then
+    assertEquals(2, renders.get());
+    assertTrue(json.contains("Refactoring"));
+  }
+
+  @Test
+  void getShouldRenderAgainWhenStoredAuthorChanges() {
+
+    // given
+    cache.get(book, mapper);
+
+    // when
+    Author renamed = authorRepository.findById(book.getAuthor().getId()).orElseThrow().copy();
+    renamed.setName("Jane Doe");
+    authorRepository.save(renamed);
+    String json = new String(cache.get(book, authorMapper), StandardCharsets.UTF_8);
+
+    // then
+    assertEquals(2, renders.get());
+    assertTrue(json.contains("Jane Doe"));
+  }
+
+  @Test
+  void toJsonArrayShouldJoinFragments() {
+
+    // given
+    List<byte[]> fragments = List.of("{\"id\":1}".getBytes(StandardCharsets.UTF_8),
+        "{\"id\":2}".getBytes(StandardCharsets.UTF_8));
+
+    // when
+    byte[] json = JsonFragmentCache.toJsonArray(fragments);
+
+    // then
+    assertEquals("[{\"id\":1},{\"id\":2}]", new String(json, StandardCharsets.UTF_8));
+    assertEquals("[]", new String(JsonFragmentCache.toJsonArray(List.of()), StandardCharsets.UTF_8));
+  }
+}
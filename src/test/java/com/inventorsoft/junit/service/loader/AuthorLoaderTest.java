@@ -0,0 +1,137 @@
+package com.inventorsoft.junit.service.loader;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class AuthorLoaderTest {
+
+  @Mock
+  AuthorRepository authorRepository;
+
+  @InjectMocks
+  AuthorLoader authorLoader;
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void loadShouldQueryRepositoryOncePerRequest() {
+
+    // given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    Author author = author(1L);
+    when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+
+    // when
+    boolean exists = authorLoader.exists(1L);
+    Optional<Author> loaded = authorLoader.load(1L);
+
+    // then
+    assertTrue(exists);
+    assertSame(author, loaded.orElseThrow());
+    verify(authorRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  void loadAllShouldFetchOnlyAuthorsNotLoadedByRequest() {
+
+    // given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    when(authorRepository.findById(1L)).thenReturn(Optional.of(author(1L)));
+    when(authorRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(author(2L)));
+    authorLoader.load(1L);
+
+    // when
+    Map<Long, Author> authors = authorLoader.loadAll(List.of(1L, 2L, 3L, 2L));
+
+    // then
+    assertEquals(Map.of(1L, authors.get(1L), 2L, authors.get(2L)), authors);
+    assertFalse(authorLoader.exists(3L));
+    verify(authorRepository).findAllById(List.of(2L, 3L));
+    verifyNoMoreInteractions(authorRepository);
+  }
+
+  @Test
+  void loadShouldQueryRepositoryEveryTimeOutsideOfRequest() {
+
+    // given
+    when(authorRepository.findById(1L)).thenReturn(Optional.of(author(1L)));
+
+    // when
+    authorLoader.load(1L);
+    authorLoader.load(1L);
+
+    // then
+    verify(authorRepository, times(2)).findById(1L);
+  }
+
+  @Test
+  void recheckShouldKeepAuthorWhichStillExists() {
+
+    // given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    Author author = author(1L);
+    when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+    when(authorRepository.existsById(1L)).thenReturn(true);
+    authorLoader.load(1L);
+
+    // when
+    authorLoader.recheck(List.of(1L));
+
+    // then
+    assertSame(author, authorLoader.load(1L).orElseThrow());
+    verify(authorRepository, times(1)).findById(1L);
+  }
+
+  @Test
+  void recheckShouldDropAuthorDeletedMeanwhile() {
+
+    // given
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    when(authorRepository.findById(1L)).thenReturn(Optional.of(author(1L)), Optional.empty());
+    when(authorRepository.existsById(1L)).thenReturn(false);
+    authorLoader.load(1L);
+
+    // when
+    authorLoader.recheck(List.of(1L));
+
+    // then
+    assertFalse(authorLoader.exists(1L));
+    verify(authorRepository, times(2)).findById(1L);
+  }
+
+  private static Author author(long id) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName("Author " + id);
+    return author;
+  }
+}
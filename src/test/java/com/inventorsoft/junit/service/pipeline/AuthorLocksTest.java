@@ -0,0 +1,75 @@
+package com.inventorsoft.junit.service.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorLocksTest {
+
+  static final long AUTHOR_ID = 7L;
+
+  @Test
+  void sharedShouldWaitWhileAuthorIsLockedExclusively() throws Exception {
+
+    // given
+    AuthorLocks locks = new AuthorLocks();
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> deletion = CompletableFuture.runAsync(() -> locks.exclusive(AUTHOR_ID, () -> {
+      locked.countDown();
+      await(release);
+      return null;
+    }));
+    assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+    // when
+    CompletableFuture<String> write = CompletableFuture.supplyAsync(
+        () -> locks.shared(List.of(1L, AUTHOR_ID), () -> "written"));
+
+    // then
+    assertFalse(completesWithin(write, 200));
+    release.countDown();
+    deletion.get(5, TimeUnit.SECONDS);
+    assertEquals("written", write.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void sharedShouldNotWaitForWritesOfSameAuthor() throws Exception {
+
+    // given
+    AuthorLocks locks = new AuthorLocks();
+
+    // when
+    String result = locks.shared(List.of(AUTHOR_ID), () -> CompletableFuture.supplyAsync(
+        () -> locks.shared(List.of(AUTHOR_ID), () -> "written")).join());
+
+    // then
+    assertEquals("written", result);
+  }
+
+  private static boolean completesWithin(CompletableFuture<?> future, long millis) throws Exception {
+    try {
+      future.get(millis, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package com.inventorsoft.junit.service.pipeline;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class WritePipelineTest {
+
+  WritePipeline pipeline;
+
+  @BeforeEach
+  void setUp() {
+    WritePipelineProperties properties = new WritePipelineProperties();
+    properties.setEnabled(true);
+    properties.setBufferSize(16);
+    properties.setMaxBatch(4);
+    pipeline = new WritePipeline(properties);
+    pipeline.start();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    pipeline.stop();
+  }
+
+  @Test
+  void commandsShouldBeAppliedByOneThreadInSubmissionOrder() {
+
+    // given
+    List<Integer> applied = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+
+    // when
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int number = i;
+      results.add(pipeline.submit(() -> {
+        applied.add(number);
+        threads.add(Thread.currentThread());
+        return number;
+      }));
+    }
+    CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+    // then
+    assertEquals(99, results.get(99).join());
+    assertEquals(100, applied.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, applied.get(i));
+      assertSame(threads.get(0), threads.get(i));
+    }
+  }
+
+  @Test
+  void executeShouldRethrowExceptionOfCommand() {
+
+    // given
+    RuntimeException failure = new RuntimeException("Book not found by id: 1");
+
+    // when
+    RuntimeException thrown = assertThrows(RuntimeException.class, () -> pipeline.execute(() -> {
+      throw failure;
+    }));
+
+    // then
+    assertSame(failure, thrown);
+    assertEquals(1, pipeline.execute(() -> 1));
+  }
+
+  @Test
+  void concurrentCallersShouldAllBeCompleted() throws InterruptedException {
+
+    // given
+    int callers = 8;
+    int perCaller = 1000;
+    long[] counter = new long[1];
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+    // when
+    for (int caller = 0; caller < callers; caller++) {
+      executor.execute(() -> {
+        for (int i = 0; i < perCaller; i++) {
+          pipeline.run(() -> counter[0]++);
+        }
+      });
+    }
+    executor.shutdown();
+
+    // then
+    assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    assertEquals(callers * perCaller, pipeline.execute(() -> counter[0]));
+  }
+
+  @Test
+  void commandsSubmittedWhileStoppingShouldBeAppliedOrRefused() throws InterruptedException {
+
+    // given
+    int callers = 8;
+    AtomicInteger applied = new AtomicInteger();
+    ConcurrentLinkedQueue<CompletableFuture<Integer>> results = new ConcurrentLinkedQueue<>();
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    for (int caller = 0; caller < callers; caller++) {
+      executor.execute(() -> {
+        try {
+          while (true) {
+            results.add(pipeline.submit(applied::incrementAndGet));
+          }
+        } catch (IllegalStateException e) {
+          // refused after stop
+        }
+      });
+    }
+
+    // when
+    TimeUnit.MILLISECONDS.sleep(50);
+    pipeline.stop();
+    executor.shutdown();
+
+    // then
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).orTimeout(5, TimeUnit.SECONDS).join();
+    assertEquals(results.size(), applied.get());
+  }
+
+  @Test
+  void pipelineShouldBeStoppedBeforeBeansAreDestroyed() {
+
+    // given
+    WritePipelineProperties properties = new WritePipelineProperties();
+    properties.setEnabled(true);
+    AtomicBoolean acceptedWhenJournalClosed = new AtomicBoolean(true);
+
+    AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.registerBean(WritePipelineProperties.class, () -> properties);
+    context.registerBean(WritePipeline.class);
+    // registered after the pipeline, so it would be destroyed before it
+    context.registerBean("journal", DisposableBean.class, () -> () -> {
+      try {
+        context.getBean(WritePipeline.class).submit(() -> null);
+      } catch (IllegalStateException e) {
+        acceptedWhenJournalClosed.set(false);
+      }
+    });
+    context.refresh();
+
+    // when
+    context.close();
+
+    // then
+    assertFalse(acceptedWhenJournalClosed.get());
+  }
+}
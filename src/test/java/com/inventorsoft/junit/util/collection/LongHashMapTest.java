@@ -0,0 +1,92 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class LongHashMapTest {
+
+  LongHashMap<String> map = new LongHashMap<>();
+
+  @Test
+  void putShouldKeepPositionOfExistingKey() {
+
+    // given
+    map.put(3L, "c");
+    map.put(1L, "a");
+    map.put(2L, "b");
+
+    // when
+    String previous = map.put(3L, "c2");
+
+    // then
+    assertEquals("c", previous);
+    assertEquals(List.of(3L, 1L, 2L), keys());
+    assertEquals("c2", map.get(3L));
+  }
+
+  @Test
+  void removeShouldKeepOtherKeysOfProbeSequenceReachable() {
+
+    // given
+    for (long key = 0; key < 1_000; key++) {
+      map.put(key, String.valueOf(key));
+    }
+
+    // when
+    for (long key = 0; key < 1_000; key += 2) {
+      assertEquals(String.valueOf(key), map.remove(key));
+    }
+
+    // then
+    assertEquals(500, map.size());
+    for (long key = 0; key < 1_000; key++) {
+      assertEquals(key % 2 == 1, map.containsKey(key));
+    }
+    assertNull(map.remove(0L));
+  }
+
+  @Test
+  void mapShouldBehaveAsLinkedHashMapUnderRandomOperations() {
+
+    // given
+    Random random = new Random(42);
+    Map<Long, String> expected = new LinkedHashMap<>();
+
+    // when
+    for (int operation = 0; operation < 100_000; operation++) {
+      long key = random.nextInt(2_000) - 1_000L;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        String value = String.valueOf(operation);
+        assertEquals(expected.put(key, value), map.put(key, value));
+      }
+    }
+
+    // then
+    assertEquals(expected.size(), map.size());
+    assertEquals(new ArrayList<>(expected.keySet()), keys());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    assertFalse(map.containsKey(5_000L));
+    assertTrue(map.isEmpty() == expected.isEmpty());
+  }
+
+  private List<Long> keys() {
+    List<Long> keys = new ArrayList<>();
+    map.forEach((key, value) -> keys.add(key));
+    return keys;
+  }
+}
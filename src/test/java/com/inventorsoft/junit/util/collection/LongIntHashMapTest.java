@@ -0,0 +1,63 @@
+package com.inventorsoft.junit.util.collection;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+class LongIntHashMapTest {
+
+  static final int MISSING = -1;
+
+  LongIntHashMap map = new LongIntHashMap();
+
+  @Test
+  void mapShouldKeepEntryWithKeyUsedForFreeSlots() {
+
+    // when
+    map.put(0L, 5);
+
+    // then
+    assertTrue(map.containsKey(0L));
+    assertEquals(5, map.get(0L, MISSING));
+    assertEquals(1, map.size());
+    assertTrue(map.remove(0L));
+    assertFalse(map.containsKey(0L));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void mapShouldBehaveAsHashMapUnderRandomOperations() {
+
+    // given
+    Random random = new Random(7);
+    Map<Long, Integer> expected = new HashMap<>();
+
+    // when
+    for (int operation = 0; operation < 100_000; operation++) {
+      long key = random.nextInt(2_000) - 1_000L;
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        expected.put(key, operation);
+        map.put(key, operation);
+      }
+    }
+
+    // then
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key, MISSING)));
+    Map<Long, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertEquals(expected, visited);
+    assertEquals(MISSING, map.get(5_000L, MISSING));
+  }
+}
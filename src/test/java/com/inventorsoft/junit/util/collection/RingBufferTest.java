@@ -0,0 +1,75 @@
+package com.inventorsoft.junit.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+  @Test
+  void drainToShouldTakeElementsInOrderUpToLimit() {
+
+    // given
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    for (int i = 0; i < 4; i++) {
+      buffer.put(i);
+    }
+    List<Integer> drained = new ArrayList<>();
+
+    // when
+    int first = buffer.drainTo(drained, 3);
+    buffer.put(4);
+    int second = buffer.drainTo(drained, 3);
+
+    // then
+    assertEquals(3, first);
+    assertEquals(2, second);
+    assertEquals(List.of(0, 1, 2, 3, 4), drained);
+    assertFalse(buffer.hasPublished());
+  }
+
+  @Test
+  void putShouldWaitForConsumerWhenBufferIsFull() throws InterruptedException {
+
+    // given
+    int producers = 4;
+    int perProducer = 10_000;
+    RingBuffer<Integer> buffer = new RingBuffer<>(8);
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+    // when
+    for (int producer = 0; producer < producers; producer++) {
+      int offset = producer * perProducer;
+      executor.execute(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          buffer.put(offset + i);
+        }
+      });
+    }
+    List<Integer> drained = new ArrayList<>();
+    long deadline = System.currentTimeMillis() + 30_000;
+    while (drained.size() < producers * perProducer && System.currentTimeMillis() < deadline) {
+      buffer.drainTo(drained, 16);
+    }
+    executor.shutdown();
+
+    // then
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(producers * perProducer, drained.size());
+    assertEquals(producers * perProducer, drained.stream().distinct().count());
+  }
+
+  @Test
+  void constructorShouldThrowIllegalArgumentExceptionWhenCapacityIsNotPowerOfTwo() {
+    assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(6));
+  }
+}
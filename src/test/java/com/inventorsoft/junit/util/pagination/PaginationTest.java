@@ -0,0 +1,78 @@
+package com.inventorsoft.junit.util.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PaginationTest {
+
+  @Test
+  void decodeCursorShouldReturnEncodedPosition() {
+
+    // when
+    Long position = Pagination.decodeCursor(Pagination.encodeCursor(42L));
+
+    // then
+    assertEquals(42L, position);
+    assertNull(Pagination.decodeCursor(null));
+  }
+
+  @Test
+  void decodeCursorShouldRejectMalformedCursor() {
+
+    // when
+    // then
+    assertThrows(InvalidCursorException.class, () -> Pagination.decodeCursor("not a cursor"));
+    assertThrows(InvalidCursorException.class, () -> Pagination.decodeCursor("AQI"));
+  }
+
+  @Test
+  void decodeDateCursorShouldReturnEncodedDateAndPosition() {
+
+    // given
+    LocalDate date = LocalDate.of(2020, 1, 1);
+
+    // when
+    DateCursor cursor = Pagination.decodeDateCursor(Pagination.encodeDateCursor(date, 42L));
+
+    // then
+    assertEquals(date, cursor.getDate());
+    assertEquals(42L, cursor.getPosition());
+  }
+
+  @Test
+  void decodeDateCursorShouldRejectMalformedCursor() {
+
+    // when
+    // then
+    assertThrows(InvalidCursorException.class, () -> Pagination.decodeDateCursor("%%%"));
+    assertThrows(InvalidCursorException.class, () -> Pagination.decodeDateCursor(Pagination.encodeCursor(42L)));
+  }
+
+  @Test
+  void decodeOffsetCursorShouldRejectOffsetOutsideOfSearchWindow() {
+
+    // when
+    // then
+    assertEquals(0L, Pagination.decodeOffsetCursor(null));
+    assertEquals(20L, Pagination.decodeOffsetCursor(Pagination.encodeCursor(20L)));
+    assertThrows(InvalidCursorException.class, () -> Pagination.decodeOffsetCursor(Pagination.encodeCursor(-1L)));
+    assertThrows(InvalidCursorException.class,
+        () -> Pagination.decodeOffsetCursor(Pagination.encodeCursor(Long.MAX_VALUE)));
+  }
+
+  @Test
+  void searchPageShouldNotReachBeyondSearchWindow() {
+
+    // when
+    int limit = Pagination.normalizeSearchLimit(Pagination.MAX_SEARCH_WINDOW - 10, 100);
+
+    // then
+    assertEquals(10, limit);
+    assertNull(Pagination.encodeOffsetCursor((long) Pagination.MAX_SEARCH_WINDOW));
+  }
+}
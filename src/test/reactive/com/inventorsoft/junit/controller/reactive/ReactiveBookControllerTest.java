@@ -0,0 +1,98 @@
+package com.inventorsoft.junit.controller.reactive;
+
+import com.inventorsoft.junit.dto.response.BookResponse;
+import com.inventorsoft.junit.mapper.BookFieldsWriter;
+import com.inventorsoft.junit.service.reactive.ReactiveBookService;
+import com.inventorsoft.junit.service.cache.VersionedJson;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routes of {@link ReactiveBookController} served by WebFlux.
+ */
+@WebFluxTest(ReactiveBookController.class)
+@Import(BookFieldsWriter.class)
+class ReactiveBookControllerTest {
+
+  static final long ID = 1L;
+
+  @Autowired
+  WebTestClient webTestClient;
+
+  @MockBean
+  ReactiveBookService reactiveBookService;
+
+  @Test
+  void getByIdShouldRespondWithVersionInETag() {
+
+    // given
+    when(reactiveBookService.getVersionedJsonById(ID))
+        .thenReturn(Mono.just(new VersionedJson(3L, "{\"id\":1}".getBytes(StandardCharsets.UTF_8))));
+
+    // when
+    // then
+    webTestClient.get().uri("/books/{id}", ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+        .expectBody().json("{\"id\":1}");
+  }
+
+  @Test
+  void exportShouldStreamOneBookPerLine() {
+
+    // given
+    when(reactiveBookService.getAll()).thenReturn(Flux.just(book(1L, "Clean Code"), book(2L, "Refactoring")));
+
+    // when
+    // then
+    webTestClient.get().uri("/books/export")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(BookResponse.class)
+        .value(books -> assertEquals(List.of("Clean Code", "Refactoring"),
+            books.stream().map(BookResponse::getTitle).toList()));
+  }
+
+  @Test
+  void updateShouldPassIfMatchVersionAndRespondWithNewVersion() {
+
+    // given
+    when(reactiveBookService.update(eq(ID), any(), eq(3L))).thenReturn(Mono.just(4L));
+
+    // when
+    // then
+    webTestClient.put().uri("/books/{id}", ID)
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(HttpHeaders.IF_MATCH, "\"3\"")
+        .bodyValue("{\"title\":\"Title\",\"description\":\"Description\",\"releaseDate\":\"2000-01-01\","
+            + "\"authorId\":1}")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+  }
+
+  private static BookResponse book(long id, String title) {
+    BookResponse book = new BookResponse();
+    book.setId(id);
+    book.setTitle(title);
+    return book;
+  }
+}
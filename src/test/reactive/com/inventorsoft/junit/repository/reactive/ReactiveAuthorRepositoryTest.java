@@ -0,0 +1,73 @@
+package com.inventorsoft.junit.repository.reactive;
+
+import com.inventorsoft.junit.model.Author;
+import com.inventorsoft.junit.repository.AuthorRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReactiveAuthorRepositoryTest {
+
+  private final AuthorRepository authorRepository = new AuthorRepository();
+  private final ReactiveAuthorRepository reactiveAuthorRepository = new ReactiveAuthorRepository(authorRepository);
+
+  @Test
+  void findByIdShouldReadStoreOnSubscription() {
+
+    // given
+    Mono<Author> author = reactiveAuthorRepository.findById(1L);
+    authorRepository.save(author(1L, "John Doe"));
+
+    // when
+    // then
+    StepVerifier.create(author.map(Author::getName))
+        .expectNext("John Doe")
+        .verifyComplete();
+    StepVerifier.create(reactiveAuthorRepository.findById(2L))
+        .verifyComplete();
+  }
+
+  @Test
+  void findAllShouldEmitOnlyRequestedAuthors() {
+
+    // given
+    authorRepository.save(author(1L, "John Doe"));
+    authorRepository.save(author(2L, "Jane Doe"));
+    authorRepository.save(author(3L, "Richard Roe"));
+
+    // when
+    // then
+    StepVerifier.create(reactiveAuthorRepository.findAll().map(Author::getName), 1)
+        .expectNext("John Doe")
+        .thenRequest(1)
+        .expectNext("Jane Doe")
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  void saveAndDeleteShouldRunOffSubscribingThread() {
+
+    // given
+    Thread subscriber = Thread.currentThread();
+
+    // when
+    // then
+    StepVerifier.create(reactiveAuthorRepository.save(author(1L, "John Doe"))
+            .map(saved -> Thread.currentThread() != subscriber))
+        .expectNext(true)
+        .verifyComplete();
+    StepVerifier.create(reactiveAuthorRepository.deleteById(1L))
+        .verifyComplete();
+    assertFalse(authorRepository.existsById(1L));
+  }
+
+  private static Author author(long id, String name) {
+    Author author = new Author();
+    author.setId(id);
+    author.setName(name);
+    return author;
+  }
+}